@@ -0,0 +1,90 @@
+package org.jorgerojasdev.kafkaenvironmentmock.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Record values as they come from the YAML of an event, with the plain types the YAML parser gives.
+ */
+final class BenchmarkRecords {
+
+    static final String NAMESPACE = "org.jorgerojasdev.kafkaenvironmentmock.benchmark.avro";
+
+    static final String FLAT_RECORD = "FlatRecord";
+
+    static final String NESTED_RECORD = "NestedRecord";
+
+    static final String LARGE_RECORD = "LargeRecord";
+
+    private BenchmarkRecords() {
+    }
+
+    static Map<String, Object> flat() {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("id", "order-1");
+        value.put("amount", 125.5);
+        value.put("quantity", 3);
+        value.put("active", true);
+        value.put("createdAt", 1654041600000L);
+        value.put("status", "PAID");
+        value.put("note", "deliver before noon");
+        return value;
+    }
+
+    static Map<String, Object> nested() {
+        Map<String, Object> address = new LinkedHashMap<>();
+        address.put("street", "Gran Via 1");
+        address.put("city", "Madrid");
+        address.put("zip", "28013");
+
+        Map<String, Object> customer = new LinkedHashMap<>();
+        customer.put("id", "customer-1");
+        customer.put("name", "Jane Doe");
+        customer.put("address", address);
+
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("id", "order-1");
+        value.put("customer", customer);
+        value.put("lines", lines(5));
+        value.put("total", 250.0);
+        return value;
+    }
+
+    static Map<String, Object> large(int size) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        Map<String, Object> counters = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            attributes.put("attribute-" + i, "value-" + i);
+            counters.put("counter-" + i, i);
+        }
+
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("id", "large-1");
+        value.put("items", lines(size));
+        value.put("attributes", attributes);
+        value.put("counters", counters);
+        return value;
+    }
+
+    /**
+     * Properties as {@code MapToAvroMapper.mapToAvro} receives them from a producer record.
+     */
+    static Map<String, Object> properties(Map<String, Object> value) {
+        return Collections.singletonMap("value", value);
+    }
+
+    private static List<Object> lines(int size) {
+        List<Object> lines = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("sku", "sku-" + i);
+            line.put("quantity", i % 10 + 1);
+            line.put("price", 9.99);
+            lines.add(line);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,182 @@
+package org.jorgerojasdev.kafkaenvironmentmock.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.jorgerojasdev.kafkaenvironmentmock.consumer.ConsumerComponent;
+import org.jorgerojasdev.kafkaenvironmentmock.consumer.ConsumerDispatcher;
+import org.jorgerojasdev.kafkaenvironmentmock.mapper.GenericRecordMapper;
+import org.jorgerojasdev.kafkaenvironmentmock.mapper.MapToAvroMapper;
+import org.jorgerojasdev.kafkaenvironmentmock.metrics.KemMetrics;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.FilterSource;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.ConsumerProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.FilterProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.ProducerProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.global.GlobalProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.KemConsumerProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.KemProducerProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ConsumerComponent} routing with many topics and consumers per topic. Every topic has one consumer without
+ * filters and the rest filter on the key, so both the route lookup and the filters are measured. Producers are not
+ * launched, see {@link NoOpProducersComponent}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConsumerRoutingBenchmark {
+
+    private static final int RECORDS_PER_TOPIC = 8;
+
+    private static final int BATCH_SIZE = 500;
+
+    @Param({"10", "100", "1000"})
+    private int topics;
+
+    @Param({"1", "4"})
+    private int consumersPerTopic;
+
+    private AnnotationConfigApplicationContext context;
+
+    private ConsumerComponent consumerComponent;
+
+    private List<ConsumerRecord<Object, Object>> records;
+
+    private List<List<ConsumerRecord<Object, Object>>> batches;
+
+    private int nextRecord;
+
+    private int nextBatch;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // The dispatcher is created on a context so that its lanes are shut down on tear down
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(KemConsumerProperties.class);
+        context.registerBean(ConsumerDispatcher.class);
+        context.refresh();
+
+        GlobalProperties globalProperties = new GlobalProperties(new MapToAvroMapper(), new GenericRecordMapper(new KemProducerProperties()));
+        globalProperties.addProducers(createProducers());
+        globalProperties.addConsumers(createConsumers());
+        globalProperties.compileRoutingTable();
+
+        consumerComponent = new ConsumerComponent(globalProperties, new NoOpProducersComponent(),
+                context.getBean(ConsumerDispatcher.class), new KemMetrics(new SimpleMeterRegistry()));
+        records = createRecords();
+        batches = createBatches(records);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void listen() {
+        consumerComponent.listen(records.get(nextRecord));
+        nextRecord = nextRecord + 1 < records.size() ? nextRecord + 1 : 0;
+    }
+
+    @Benchmark
+    public void listenBatch() {
+        consumerComponent.listenBatch(batches.get(nextBatch));
+        nextBatch = nextBatch + 1 < batches.size() ? nextBatch + 1 : 0;
+    }
+
+    private List<ProducerProperties> createProducers() {
+        List<ProducerProperties> producers = new ArrayList<>(topics);
+        for (int topic = 0; topic < topics; topic++) {
+            Map<String, Object> record = new HashMap<>();
+            record.put("namespace", BenchmarkRecords.NAMESPACE);
+            record.put("name", BenchmarkRecords.FLAT_RECORD);
+            record.put("value", BenchmarkRecords.flat());
+
+            ProducerProperties producer = new ProducerProperties();
+            producer.setOperationId(producerId(topic));
+            producer.setTopic(String.format("output-%s", topic));
+            producer.setRecord(record);
+            producers.add(producer);
+        }
+        return producers;
+    }
+
+    private List<ConsumerProperties> createConsumers() {
+        List<ConsumerProperties> consumers = new ArrayList<>(topics * consumersPerTopic);
+        for (int topic = 0; topic < topics; topic++) {
+            for (int consumerIndex = 0; consumerIndex < consumersPerTopic; consumerIndex++) {
+                ConsumerProperties consumer = new ConsumerProperties();
+                consumer.setOperationId(String.format("consumer-%s-%s", topic, consumerIndex));
+                consumer.setTopic(topicName(topic));
+                consumer.setLaunchOperationIds(Collections.singletonList(producerId(topic)));
+                if (consumerIndex > 0) {
+                    FilterProperties filter = new FilterProperties();
+                    filter.setSource(FilterSource.KEY);
+                    filter.setValue(String.format("key-%s", consumerIndex));
+                    consumer.setFilters(Collections.singletonList(filter));
+                }
+                consumers.add(consumer);
+            }
+        }
+        return consumers;
+    }
+
+    private List<ConsumerRecord<Object, Object>> createRecords() {
+        List<ConsumerRecord<Object, Object>> consumerRecords = new ArrayList<>(topics * RECORDS_PER_TOPIC);
+        for (int offset = 0; offset < RECORDS_PER_TOPIC; offset++) {
+            for (int topic = 0; topic < topics; topic++) {
+                consumerRecords.add(new ConsumerRecord<>(topicName(topic), 0, offset, String.format("key-%s", offset), BenchmarkRecords.flat()));
+            }
+        }
+        return consumerRecords;
+    }
+
+    /**
+     * Batches of one topic each, as a batch listener of a single-topic container receives them.
+     */
+    private List<List<ConsumerRecord<Object, Object>>> createBatches(List<ConsumerRecord<Object, Object>> consumerRecords) {
+        Map<String, List<ConsumerRecord<Object, Object>>> recordsByTopic = new HashMap<>();
+        consumerRecords.forEach(record -> recordsByTopic.computeIfAbsent(record.topic(), topic -> new ArrayList<>()).add(record));
+
+        List<List<ConsumerRecord<Object, Object>>> topicBatches = new ArrayList<>(topics);
+        recordsByTopic.values().forEach(topicRecords -> {
+            List<ConsumerRecord<Object, Object>> batch = new ArrayList<>(BATCH_SIZE);
+            while (batch.size() < BATCH_SIZE) {
+                batch.add(topicRecords.get(batch.size() % topicRecords.size()));
+            }
+            topicBatches.add(batch);
+        });
+        return topicBatches;
+    }
+
+    private static String topicName(int topic) {
+        return String.format("topic-%s", topic);
+    }
+
+    private static String producerId(int topic) {
+        return String.format("producer-%s", topic);
+    }
+}
@@ -0,0 +1,75 @@
+package org.jorgerojasdev.kafkaenvironmentmock.benchmark;
+
+import org.apache.avro.specific.SpecificRecord;
+import org.jorgerojasdev.kafkaenvironmentmock.mapper.MapToAvroMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MapToAvroMapper#mapToAvro} on a flat record, a record with nested records and a list, and a record with
+ * large lists and maps. Mapping plans are built on setup, so only the per-message cost is measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapToAvroMapperBenchmark {
+
+    private MapToAvroMapper mapToAvroMapper;
+
+    private Map<String, Object> flat;
+
+    private Map<String, Object> nested;
+
+    @Setup
+    public void setup() {
+        mapToAvroMapper = new MapToAvroMapper();
+        flat = BenchmarkRecords.properties(BenchmarkRecords.flat());
+        nested = BenchmarkRecords.properties(BenchmarkRecords.nested());
+        mapToAvroMapper.mapToAvro(BenchmarkRecords.NAMESPACE, BenchmarkRecords.FLAT_RECORD, flat);
+        mapToAvroMapper.mapToAvro(BenchmarkRecords.NAMESPACE, BenchmarkRecords.NESTED_RECORD, nested);
+    }
+
+    @Benchmark
+    public SpecificRecord flat() {
+        return mapToAvroMapper.mapToAvro(BenchmarkRecords.NAMESPACE, BenchmarkRecords.FLAT_RECORD, flat);
+    }
+
+    @Benchmark
+    public SpecificRecord nested() {
+        return mapToAvroMapper.mapToAvro(BenchmarkRecords.NAMESPACE, BenchmarkRecords.NESTED_RECORD, nested);
+    }
+
+    @Benchmark
+    public SpecificRecord large(LargeRecordState state) {
+        return mapToAvroMapper.mapToAvro(BenchmarkRecords.NAMESPACE, BenchmarkRecords.LARGE_RECORD, state.large);
+    }
+
+    @State(Scope.Benchmark)
+    public static class LargeRecordState {
+
+        @Param({"100", "1000"})
+        private int size;
+
+        private Map<String, Object> large;
+
+        @Setup
+        public void setup() {
+            large = BenchmarkRecords.properties(BenchmarkRecords.large(size));
+        }
+    }
+}
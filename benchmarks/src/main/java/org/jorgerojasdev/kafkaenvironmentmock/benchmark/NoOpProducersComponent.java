@@ -0,0 +1,30 @@
+package org.jorgerojasdev.kafkaenvironmentmock.benchmark;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.jorgerojasdev.kafkaenvironmentmock.producer.ProducersComponent;
+import org.jorgerojasdev.kafkaenvironmentmock.props.global.ProducerHandle;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the producer launches instead of scheduling them, so routing is measured without the producer side.
+ */
+class NoOpProducersComponent extends ProducersComponent {
+
+    private final LongAdder launches = new LongAdder();
+
+    NoOpProducersComponent() {
+        super(null, null, null, null, null, null, null, null, null);
+    }
+
+    @Override
+    public void executeProducer(ProducerHandle producerHandle, Long initialDelayMs, Long fixedRateMs, ConsumerRecord<?, ?> source) {
+        launches.increment();
+    }
+
+    @Override
+    public void executeProducerBatch(ProducerHandle producerHandle, Long initialDelayMs, List<? extends ConsumerRecord<?, ?>> sources) {
+        launches.add(sources.size());
+    }
+}
@@ -0,0 +1,89 @@
+package org.jorgerojasdev.kafkaenvironmentmock.benchmark;
+
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
+import io.confluent.kafka.serializers.KafkaAvroSerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.jorgerojasdev.kafkaenvironmentmock.mapper.MapToAvroMapper;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.SchemaRegistryProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.schema.AvroSerdes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialize path of a producer on a {@link MockSchemaRegistryClient}: the serializer of {@link AvroSerdes} alone,
+ * and mapping plus serializing as a {@code DYNAMIC} producer does on every send.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializeBenchmark {
+
+    private static final String TOPIC = "benchmark";
+
+    private MapToAvroMapper mapToAvroMapper;
+
+    private Serializer<Object> serializer;
+
+    private Map<String, Object> flat;
+
+    private Map<String, Object> nested;
+
+    private Object flatRecord;
+
+    private Object nestedRecord;
+
+    @Setup
+    public void setup() {
+        SchemaRegistryProperties schemaRegistryProperties = new SchemaRegistryProperties();
+        schemaRegistryProperties.setUrl("mock://kem-benchmark");
+        serializer = new AvroSerdes(new MockSchemaRegistryClient(), schemaRegistryProperties).createSerializer(KafkaAvroSerializer.class, false);
+
+        mapToAvroMapper = new MapToAvroMapper();
+        flat = BenchmarkRecords.properties(BenchmarkRecords.flat());
+        nested = BenchmarkRecords.properties(BenchmarkRecords.nested());
+        flatRecord = mapToAvroMapper.mapToAvro(BenchmarkRecords.NAMESPACE, BenchmarkRecords.FLAT_RECORD, flat);
+        nestedRecord = mapToAvroMapper.mapToAvro(BenchmarkRecords.NAMESPACE, BenchmarkRecords.NESTED_RECORD, nested);
+        serializer.serialize(TOPIC, flatRecord);
+        serializer.serialize(TOPIC, nestedRecord);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializer.close();
+    }
+
+    @Benchmark
+    public byte[] serializeFlat() {
+        return serializer.serialize(TOPIC, flatRecord);
+    }
+
+    @Benchmark
+    public byte[] serializeNested() {
+        return serializer.serialize(TOPIC, nestedRecord);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeFlat() {
+        return serializer.serialize(TOPIC, mapToAvroMapper.mapToAvro(BenchmarkRecords.NAMESPACE, BenchmarkRecords.FLAT_RECORD, flat));
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeNested() {
+        return serializer.serialize(TOPIC, mapToAvroMapper.mapToAvro(BenchmarkRecords.NAMESPACE, BenchmarkRecords.NESTED_RECORD, nested));
+    }
+}
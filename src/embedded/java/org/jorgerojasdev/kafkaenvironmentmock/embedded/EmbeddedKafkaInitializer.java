@@ -0,0 +1,60 @@
+package org.jorgerojasdev.kafkaenvironmentmock.embedded;
+
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.EmbeddedKafkaProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.Profiles;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Starts an in-process broker when the {@code embedded} profile is active, before any bean reads
+ * {@code spring.kafka.bootstrap-servers}, and points that property to it. The broker is destroyed with the context.
+ * This source root and {@code spring-kafka-test} are only built by the {@code embedded} Maven profile, which registers
+ * the initializer through {@code META-INF/spring.factories}.
+ */
+public class EmbeddedKafkaInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    private static final String PROPERTY_SOURCE_NAME = "kemEmbeddedKafka";
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedKafkaInitializer.class);
+
+    @Override
+    public void initialize(ConfigurableApplicationContext applicationContext) {
+        ConfigurableEnvironment environment = applicationContext.getEnvironment();
+        if (!environment.acceptsProfiles(Profiles.of(EmbeddedKafkaProperties.PROFILE))) {
+            return;
+        }
+
+        EmbeddedKafkaProperties embeddedKafkaProperties = Binder.get(environment)
+                .bind("kem.embedded", EmbeddedKafkaProperties.class)
+                .orElseGet(EmbeddedKafkaProperties::new);
+        EmbeddedKafkaBroker broker = createBroker(embeddedKafkaProperties);
+        broker.afterPropertiesSet();
+        logger.info(String.format("Embedded Kafka started. Brokers: %s", broker.getBrokersAsString()));
+
+        environment.getPropertySources().addFirst(new MapPropertySource(PROPERTY_SOURCE_NAME,
+                Map.of("spring.kafka.bootstrap-servers", broker.getBrokersAsString())));
+        DefaultListableBeanFactory beanFactory = (DefaultListableBeanFactory) applicationContext.getBeanFactory();
+        beanFactory.registerSingleton(EmbeddedKafkaBroker.BEAN_NAME, broker);
+        beanFactory.registerDisposableBean(EmbeddedKafkaBroker.BEAN_NAME, broker);
+    }
+
+    private EmbeddedKafkaBroker createBroker(EmbeddedKafkaProperties embeddedKafkaProperties) {
+        int brokers = embeddedKafkaProperties.getBrokers();
+        EmbeddedKafkaBroker broker = new EmbeddedKafkaBroker(brokers)
+                .brokerProperties(embeddedKafkaProperties.getBrokerProperties());
+        if (embeddedKafkaProperties.getPort() > 0) {
+            broker.kafkaPorts(IntStream.range(0, brokers).map(index -> embeddedKafkaProperties.getPort() + index).toArray());
+        }
+        return broker;
+    }
+}
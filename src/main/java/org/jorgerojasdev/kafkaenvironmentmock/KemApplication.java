@@ -1,16 +1,40 @@
 package org.jorgerojasdev.kafkaenvironmentmock;
 
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
 import org.jorgerojasdev.kafkaenvironmentmock.props.event.EventProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.EmbeddedKafkaProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.KemClientProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.KemConsumerProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.KemProducerProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.KemTopicProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.RecorderProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.SchedulerProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.SchemaRegistryProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Profiles;
+import org.springframework.util.ClassUtils;
 
 @SpringBootApplication
-@EnableConfigurationProperties({EventProperties.class})
+@EnableConfigurationProperties({EventProperties.class, SchedulerProperties.class, KemProducerProperties.class, KemConsumerProperties.class, SchemaRegistryProperties.class, KemTopicProperties.class, EmbeddedKafkaProperties.class, KemClientProperties.class, RecorderProperties.class})
 public class KemApplication {
 
+    private static final String EMBEDDED_INITIALIZER_CLASS = "org.jorgerojasdev.kafkaenvironmentmock.embedded.EmbeddedKafkaInitializer";
+
     public static void main(String[] args) {
-        SpringApplication.run(KemApplication.class, args);
+        SpringApplication application = new SpringApplication(KemApplication.class);
+        if (!ClassUtils.isPresent(EMBEDDED_INITIALIZER_CLASS, KemApplication.class.getClassLoader())) {
+            application.addInitializers(KemApplication::rejectEmbeddedProfile);
+        }
+        application.run(args);
+    }
+
+    private static void rejectEmbeddedProfile(ConfigurableApplicationContext applicationContext) {
+        if (applicationContext.getEnvironment().acceptsProfiles(Profiles.of(EmbeddedKafkaProperties.PROFILE))) {
+            throw new AutoconfigureKEMException("The embedded profile needs a build with the embedded Maven profile: mvn -Pembedded package");
+        }
     }
 
 }
@@ -4,8 +4,6 @@ public class KEMConstants {
 
     public static final String APPLICATION_NAME = "KEM-APPLICATION";
 
-    public static final String BOOTSTRAP_SERVERS = "localhost:29092";
-
     public static final String SCHEMA_REGISTRY_KEY = "schema.registry.url";
 
     public static final String SCHEMA_REGISTRY_VALUE = "http://localhost:8085";
@@ -1,25 +1,22 @@
 package org.jorgerojasdev.kafkaenvironmentmock.consumer;
 
 import lombok.RequiredArgsConstructor;
-import org.apache.avro.specific.SpecificRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.jorgerojasdev.kafkaenvironmentmock.metrics.KemMetrics;
 import org.jorgerojasdev.kafkaenvironmentmock.producer.ProducersComponent;
-import org.jorgerojasdev.kafkaenvironmentmock.props.common.MockType;
-import org.jorgerojasdev.kafkaenvironmentmock.props.event.ConsumerProperties;
-import org.jorgerojasdev.kafkaenvironmentmock.props.event.ProducerProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.global.ConsumerRoute;
 import org.jorgerojasdev.kafkaenvironmentmock.props.global.GlobalProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.global.ProducerHandle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.boot.context.event.ApplicationReadyEvent;
-import org.springframework.context.event.EventListener;
-import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @RequiredArgsConstructor
@@ -29,39 +26,80 @@ public class ConsumerComponent {
 
     private final ProducersComponent producersComponent;
 
-    private Map<String, List<String>> topicsAndConsumersMap = new HashMap<>();
+    private final ConsumerDispatcher consumerDispatcher;
+
+    private final KemMetrics kemMetrics;
 
     private static final Logger logger = LoggerFactory.getLogger(ConsumerComponent.class);
 
-    @EventListener(ApplicationReadyEvent.class)
-    private void autoConfigure() {
-        globalProperties.getConsumerPropertiesMap().forEach((operationId, consumerProps) -> {
-            if (topicsAndConsumersMap.containsKey(consumerProps.getTopic())) {
-                topicsAndConsumersMap.get(consumerProps.getTopic()).add(operationId);
-            } else {
-                List<String> newOperationIds = new ArrayList<>();
-                newOperationIds.add(operationId);
-                topicsAndConsumersMap.put(consumerProps.getTopic(), newOperationIds);
-            }
-        });
+    /**
+     * Listener of every topic, registered by {@link ConsumerListenerConfigurer}. The record is handled on the
+     * {@link ConsumerDispatcher} so that the listener thread can go on polling.
+     */
+    public void listen(@Payload ConsumerRecord<Object, Object> record) {
+        kemMetrics.getConsumedCounter(record.topic()).increment();
+        ConsumerRoute[] routes = resolveRoutes(record);
+        if (routes.length > 0) {
+            consumerDispatcher.dispatch(record, () -> handle(record, routes));
+        }
     }
-    
-    @KafkaListener(topics = "#{'${event.topics}'.replaceAll(' ','').split(',')}", groupId = "mytopicconsumer")
-    private <T extends SpecificRecord> void listen(@Payload ConsumerRecord<Object, Object> record) throws ClassNotFoundException {
-        String topicName = record.topic();
-        if (!topicsAndConsumersMap.containsKey(record.topic())) {
+
+    /**
+     * Batch listener, registered for the topics with {@code batch} enabled. Every launch triggered by the poll is
+     * grouped by producer, so each producer gets one scheduled task for all of its sends, one per consumed record,
+     * and the offsets of the whole batch are committed once this method returns.
+     */
+    public void listenBatch(@Payload List<ConsumerRecord<Object, Object>> records) {
+        if (records.isEmpty()) {
             return;
         }
+        String topic = records.get(0).topic();
+        kemMetrics.getConsumedCounter(topic).increment(records.size());
+        long startNanos = System.nanoTime();
+        Map<ProducerHandle, List<ConsumerRecord<Object, Object>>> launches = new LinkedHashMap<>();
+        for (ConsumerRecord<Object, Object> record : records) {
+            for (ConsumerRoute route : resolveRoutes(record)) {
+                for (ProducerHandle producerHandle : route.getProducerHandles()) {
+                    launches.computeIfAbsent(producerHandle, handle -> new ArrayList<>()).add(record);
+                }
+            }
+        }
 
-        for (String consumerOperationId : topicsAndConsumersMap.get(topicName)) {
-            ConsumerProperties consumerProperties = globalProperties.getConsumerPropertiesMap().get(consumerOperationId);
-            logger.info(String.format("[Consumer = %s, Received Message From Topic: %s, Next Operations: [%s], Value: %s]", consumerOperationId, topicName, String.join(", ", consumerProperties.getLaunchOperationIds()), record.value()));
-            for (String launchOperationId : consumerProperties.getLaunchOperationIds()) {
-                if (MockType.PRODUCER.equals(globalProperties.getOperationIds().get(launchOperationId))) {
-                    ProducerProperties producerProperties = globalProperties.getProducerPropertiesMap().get(launchOperationId);
-                    producersComponent.executeProducer(producerProperties, producerProperties.getDelayMs(), 0L);
+        launches.forEach((producerHandle, sources) -> {
+            try {
+                producersComponent.executeProducerBatch(producerHandle, producerHandle.getProducerProperties().getDelayMs(), sources);
+            } catch (Exception e) {
+                logger.error(String.format("Error launching producer: %s", producerHandle.getOperationId()), e);
+            }
+        });
+        kemMetrics.getProcessingTimer(topic).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void handle(ConsumerRecord<Object, Object> record, ConsumerRoute[] routes) {
+        long startNanos = System.nanoTime();
+        for (ConsumerRoute route : routes) {
+            for (ProducerHandle producerHandle : route.getProducerHandles()) {
+                try {
+                    producersComponent.executeProducer(producerHandle, producerHandle.getProducerProperties().getDelayMs(), 0L, record);
+                } catch (Exception e) {
+                    logger.error(String.format("Error launching producer: %s", producerHandle.getOperationId()), e);
                 }
             }
         }
+        kemMetrics.getProcessingTimer(record.topic()).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Routes of the record topic whose filters match the record. Filters are evaluated on the listener thread, so
+     * filtered out records never reach the dispatcher.
+     */
+    private ConsumerRoute[] resolveRoutes(ConsumerRecord<Object, Object> record) {
+        ConsumerRoute[] routes = globalProperties.getRoutingTable().getMatchingRoutes(record);
+        if (logger.isDebugEnabled()) {
+            for (ConsumerRoute route : routes) {
+                logger.debug(String.format("[Consumer = %s, Received Message From Topic: %s, Next Operations: [%s], Value: %s]", route.getOperationId(), record.topic(), route.getLaunchOperationIdsDescription(), PassThroughValue.unwrap(record.value())));
+            }
+        }
+        return routes;
     }
 }
@@ -0,0 +1,87 @@
+package org.jorgerojasdev.kafkaenvironmentmock.consumer;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.DispatchOrdering;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.KemConsumerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Worker pool that takes consumed records off the listener threads. Workers are single-threaded lanes: with
+ * {@link DispatchOrdering#KEY} every record of a key (or of a partition, for records without key) always goes to the
+ * same lane, so it is handled in order. A full lane blocks the listener thread instead of growing without bound.
+ */
+@Component
+public class ConsumerDispatcher {
+
+    private final ThreadPoolExecutor[] lanes;
+
+    private final DispatchOrdering dispatchOrdering;
+
+    private final AtomicInteger nextLane = new AtomicInteger();
+
+    private static final Logger logger = LoggerFactory.getLogger(ConsumerDispatcher.class);
+
+    public ConsumerDispatcher(KemConsumerProperties kemConsumerProperties) {
+        kemConsumerProperties.validate();
+        this.dispatchOrdering = kemConsumerProperties.getDispatchOrdering();
+        this.lanes = new ThreadPoolExecutor[kemConsumerProperties.getDispatchThreads()];
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("kem-dispatch-");
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(kemConsumerProperties.getDispatchQueueCapacity()), threadFactory, ConsumerDispatcher::waitForCapacity);
+        }
+    }
+
+    public void dispatch(ConsumerRecord<?, ?> record, Runnable action) {
+        lanes[resolveLane(record)].execute(action);
+    }
+
+    public int getQueueDepth() {
+        int queueDepth = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            queueDepth += lane.getQueue().size();
+        }
+        return queueDepth;
+    }
+
+    private int resolveLane(ConsumerRecord<?, ?> record) {
+        if (DispatchOrdering.NONE.equals(dispatchOrdering)) {
+            return Math.floorMod(nextLane.getAndIncrement(), lanes.length);
+        }
+        Object key = record.key();
+        int hash = key != null ? key.hashCode() : record.partition();
+        return Math.floorMod(hash ^ (hash >>> 16), lanes.length);
+    }
+
+    private static void waitForCapacity(Runnable action, ThreadPoolExecutor lane) {
+        if (lane.isShutdown()) {
+            throw new RejectedExecutionException("Consumer dispatcher is shut down");
+        }
+        try {
+            lane.getQueue().put(action);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for dispatch capacity", e);
+        }
+    }
+
+    @PreDestroy
+    private void shutdown() throws InterruptedException {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            if (!lane.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warn(String.format("Consumer dispatcher lane not finished on shutdown, dropping %s queued records", lane.getQueue().size()));
+                lane.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.jorgerojasdev.kafkaenvironmentmock.consumer;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.EventProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.TopicSettingsProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.KemClientProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.KemConsumerProperties;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.KafkaListenerConfigurer;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistrar;
+import org.springframework.kafka.config.MethodKafkaListenerEndpoint;
+import org.springframework.messaging.handler.annotation.support.DefaultMessageHandlerMethodFactory;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Registers one listener container per topic of {@code event.topics}, so that each topic can get its own concurrency
+ * and record or batch listener ({@code event.topic-settings.<topic>}, falling back to {@code kem.consumer}).
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ConsumerListenerConfigurer implements KafkaListenerConfigurer {
+
+    private final EventProperties eventProperties;
+
+    private final KemConsumerProperties kemConsumerProperties;
+
+    private final KemClientProperties kemClientProperties;
+
+    private final ConsumerComponent consumerComponent;
+
+    private final BeanFactory beanFactory;
+
+    @Override
+    public void configureKafkaListeners(KafkaListenerEndpointRegistrar registrar) {
+        DefaultMessageHandlerMethodFactory messageHandlerMethodFactory = new DefaultMessageHandlerMethodFactory();
+        messageHandlerMethodFactory.setBeanFactory(beanFactory);
+        messageHandlerMethodFactory.afterPropertiesSet();
+        Method listenMethod = ReflectionUtils.findMethod(ConsumerComponent.class, "listen", ConsumerRecord.class);
+        Method listenBatchMethod = ReflectionUtils.findMethod(ConsumerComponent.class, "listenBatch", List.class);
+
+        for (String topic : eventProperties.getTopics()) {
+            TopicSettingsProperties topicSettings = eventProperties.getTopicSettings(topic);
+            boolean batch = topicSettings.getBatch() != null ? topicSettings.getBatch() : kemConsumerProperties.getBatch();
+            MethodKafkaListenerEndpoint<Object, Object> endpoint = new MethodKafkaListenerEndpoint<>();
+            endpoint.setId(String.format("%s-%s", kemClientProperties.getClientIdPrefix(), topic));
+            endpoint.setClientIdPrefix(String.format("%s-%s", kemClientProperties.getClientIdPrefix(), topic));
+            endpoint.setGroupId(kemConsumerProperties.getGroupId());
+            endpoint.setTopics(topic);
+            endpoint.setConcurrency(topicSettings.getConcurrency() != null ? topicSettings.getConcurrency() : kemConsumerProperties.getConcurrency());
+            endpoint.setBean(consumerComponent);
+            endpoint.setMethod(batch ? listenBatchMethod : listenMethod);
+            endpoint.setBatchListener(batch);
+            endpoint.setMessageHandlerMethodFactory(messageHandlerMethodFactory);
+            registrar.registerEndpoint(endpoint);
+        }
+    }
+}
@@ -1,36 +1,69 @@
 package org.jorgerojasdev.kafkaenvironmentmock.consumer;
 
 import io.confluent.kafka.serializers.KafkaAvroDeserializer;
+import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
-import org.jorgerojasdev.kafkaenvironmentmock.constants.KEMConstants;
+import org.jorgerojasdev.kafkaenvironmentmock.metrics.KemMetrics;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.ValueFormat;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.EventProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.KemClientProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.KemConsumerProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.schema.AvroSerdes;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
 
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Consumer factory of every listener. Consumers start from the {@code spring.kafka.*} properties, connection and
+ * security included, and KEM settings override them.
+ */
 @Configuration
+@RequiredArgsConstructor
 public class CustomConsumerConfig {
+
+    private final AvroSerdes avroSerdes;
+
+    private final EventProperties eventProperties;
+
+    private final KemConsumerProperties kemConsumerProperties;
+
+    private final KemMetrics kemMetrics;
+
+    private final KafkaProperties kafkaProperties;
+
+    private final KemClientProperties kemClientProperties;
+
     @Bean
     public ConsumerFactory<Object, Object> consumerFactory() {
-        Map<String, Object> props = new HashMap<>();
-        props.put(
-                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG,
-                KEMConstants.BOOTSTRAP_SERVERS);
+        Map<String, Object> props = new HashMap<>(kafkaProperties.buildConsumerProperties());
+        props.putAll(kemClientProperties.toClientConfig());
+        props.putAll(kemConsumerProperties.getTuning().toConsumerConfig());
         props.put(
                 ConsumerConfig.GROUP_ID_CONFIG,
-                KEMConstants.APPLICATION_NAME);
-        props.put(
-                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG,
-                StringDeserializer.class);
-        props.put(
-                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG,
-                KafkaAvroDeserializer.class);
-        props.put(KEMConstants.SCHEMA_REGISTRY_KEY, KEMConstants.SCHEMA_REGISTRY_VALUE);
-        return new DefaultKafkaConsumerFactory<>(props);
+                kemConsumerProperties.getGroupId());
+        DefaultKafkaConsumerFactory<Object, Object> consumerFactory = new DefaultKafkaConsumerFactory<>(props,
+                () -> avroSerdes.createDeserializer(StringDeserializer.class, true),
+                this::createValueDeserializer);
+        consumerFactory.addListener(new MicrometerConsumerListener<>(kemMetrics.getMeterRegistry()));
+        return consumerFactory;
+    }
+
+    private Deserializer<Object> createValueDeserializer() {
+        Map<String, ValueFormat> valueFormats = new HashMap<>();
+        eventProperties.getTopicSettings().forEach((topic, topicSettings) -> {
+            if (topicSettings.getValueFormat() != null) {
+                valueFormats.put(topic, topicSettings.getValueFormat());
+            }
+        });
+        return new KemValueDeserializer(avroSerdes.createDeserializer(KafkaAvroDeserializer.class, false), valueFormats, kemConsumerProperties.getValueFormat());
     }
     
 }
@@ -0,0 +1,51 @@
+package org.jorgerojasdev.kafkaenvironmentmock.consumer;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.ValueFormat;
+
+import java.util.Map;
+
+/**
+ * Value deserializer of every listener, applying the value format of each topic: {@code AVRO} decodes the value,
+ * {@code BYTES} hands it over as a {@link PassThroughValue} decoded on demand and {@code NONE} skips it.
+ */
+public class KemValueDeserializer implements Deserializer<Object> {
+
+    private final Deserializer<Object> avroDeserializer;
+
+    private final Map<String, ValueFormat> valueFormats;
+
+    private final ValueFormat defaultValueFormat;
+
+    public KemValueDeserializer(Deserializer<Object> avroDeserializer, Map<String, ValueFormat> valueFormats, ValueFormat defaultValueFormat) {
+        this.avroDeserializer = avroDeserializer;
+        this.valueFormats = valueFormats;
+        this.defaultValueFormat = defaultValueFormat;
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        switch (valueFormats.getOrDefault(topic, defaultValueFormat)) {
+            case NONE:
+                return null;
+            case BYTES:
+                return new PassThroughValue(data, bytes -> avroDeserializer.deserialize(topic, bytes));
+            default:
+                return avroDeserializer.deserialize(topic, headers, data);
+        }
+    }
+
+    @Override
+    public void close() {
+        avroDeserializer.close();
+    }
+}
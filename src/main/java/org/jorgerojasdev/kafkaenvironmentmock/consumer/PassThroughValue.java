@@ -0,0 +1,46 @@
+package org.jorgerojasdev.kafkaenvironmentmock.consumer;
+
+import java.util.function.Function;
+
+/**
+ * Value of a record consumed from a {@code BYTES} topic. It keeps the raw bytes and only decodes them the first time
+ * the decoded value is needed by a filter, a template or a debug log.
+ */
+public final class PassThroughValue {
+
+    private final byte[] bytes;
+
+    private final Function<byte[], Object> decoder;
+
+    private volatile Object decoded;
+
+    PassThroughValue(byte[] bytes, Function<byte[], Object> decoder) {
+        this.bytes = bytes;
+        this.decoder = decoder;
+    }
+
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    public Object decode() {
+        Object value = decoded;
+        if (value == null) {
+            value = decoder.apply(bytes);
+            decoded = value;
+        }
+        return value;
+    }
+
+    /**
+     * @return the decoded value when {@code value} is a {@link PassThroughValue}, otherwise the value itself
+     */
+    public static Object unwrap(Object value) {
+        return value instanceof PassThroughValue ? ((PassThroughValue) value).decode() : value;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PassThroughValue[%s bytes]", bytes.length);
+    }
+}
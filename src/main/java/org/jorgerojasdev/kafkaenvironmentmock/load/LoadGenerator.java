@@ -0,0 +1,50 @@
+package org.jorgerojasdev.kafkaenvironmentmock.load;
+
+import lombok.RequiredArgsConstructor;
+import org.jorgerojasdev.kafkaenvironmentmock.producer.ProducerPayloadResolver;
+import org.jorgerojasdev.kafkaenvironmentmock.producer.SendChannel;
+import org.jorgerojasdev.kafkaenvironmentmock.props.global.ProducerHandle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the producers configured with {@code load}, each one on its own thread so that rate control never competes
+ * with the shared producer scheduler.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoadGenerator {
+
+    private final ProducerPayloadResolver producerPayloadResolver;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(new CustomizableThreadFactory("kem-load-"));
+
+    private final Map<String, LoadRun> loadRuns = new ConcurrentHashMap<>();
+
+    public LoadRun start(ProducerHandle producerHandle, SendChannel sendChannel) {
+        LoadRun loadRun = new LoadRun(producerHandle, sendChannel, producerPayloadResolver);
+        LoadRun previousRun = loadRuns.put(producerHandle.getOperationId(), loadRun);
+        if (previousRun != null) {
+            previousRun.stop();
+        }
+        executor.execute(loadRun);
+        return loadRun;
+    }
+
+    public Map<String, LoadRun> getLoadRuns() {
+        return Collections.unmodifiableMap(loadRuns);
+    }
+
+    @PreDestroy
+    private void stop() {
+        loadRuns.values().forEach(LoadRun::stop);
+        executor.shutdownNow();
+    }
+}
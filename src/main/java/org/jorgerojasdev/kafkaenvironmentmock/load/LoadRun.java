@@ -0,0 +1,190 @@
+package org.jorgerojasdev.kafkaenvironmentmock.load;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.jorgerojasdev.kafkaenvironmentmock.producer.ProducerPayloadResolver;
+import org.jorgerojasdev.kafkaenvironmentmock.producer.SendChannel;
+import org.jorgerojasdev.kafkaenvironmentmock.producer.SendStats;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.LoadProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.ProducerProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.global.ProducerHandle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends bursts of records as fast as the token bucket allows, ramping the rate up linearly during
+ * {@link LoadProperties#getRampUpMs()}, until the duration or the total count is reached or the run is stopped.
+ * A record that can't be built or sent is counted as failed and the run goes on.
+ */
+public class LoadRun implements Runnable {
+
+    private static final double MIN_MESSAGES_PER_SECOND = 1D;
+
+    private static final long MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(50L);
+
+    private final ProducerHandle producerHandle;
+
+    private final ProducerProperties producerProperties;
+
+    private final LoadProperties loadProperties;
+
+    private final SendChannel sendChannel;
+
+    private final ProducerPayloadResolver producerPayloadResolver;
+
+    private final long acknowledgedBaseline;
+
+    private final long failedBaseline;
+
+    private final long droppedBaseline;
+
+    private volatile boolean running = true;
+
+    // sent and unbuilt are only written by the run thread
+    private volatile long sent;
+
+    private volatile long unbuilt;
+
+    private boolean failureLogged;
+
+    private volatile long startNanos;
+
+    private volatile long endNanos;
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadRun.class);
+
+    LoadRun(ProducerHandle producerHandle, SendChannel sendChannel, ProducerPayloadResolver producerPayloadResolver) {
+        this.producerHandle = producerHandle;
+        this.producerProperties = producerHandle.getProducerProperties();
+        this.loadProperties = producerProperties.getLoad();
+        this.sendChannel = sendChannel;
+        this.producerPayloadResolver = producerPayloadResolver;
+        SendStats sendStats = sendChannel.getSendStats();
+        this.acknowledgedBaseline = sendStats.getAcknowledged();
+        this.failedBaseline = sendStats.getFailed();
+        this.droppedBaseline = sendStats.getDropped();
+    }
+
+    @Override
+    public void run() {
+        int burstSize = loadProperties.resolveBurstSize();
+        long totalMessages = loadProperties.getTotalMessages() != null ? loadProperties.getTotalMessages() : Long.MAX_VALUE;
+        long rampUpNanos = TimeUnit.MILLISECONDS.toNanos(loadProperties.getRampUpMs());
+        long reportIntervalNanos = TimeUnit.MILLISECONDS.toNanos(loadProperties.getReportIntervalMs());
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(rateAt(0L, rampUpNanos), burstSize);
+
+        startNanos = System.nanoTime();
+        long durationNanos = loadProperties.getDurationMs() != null ? TimeUnit.MILLISECONDS.toNanos(loadProperties.getDurationMs()) : Long.MAX_VALUE;
+        long nextReportNanos = startNanos + reportIntervalNanos;
+        long attemptedCount = 0L;
+        logger.info(String.format("[Load = %s, Started On Topic: %s, Target: %s msg/s, Burst: %s]", producerProperties.getOperationId(), producerProperties.getTopic(), loadProperties.getMessagesPerSecond(), burstSize));
+
+        try {
+            long now = startNanos;
+            boolean rampingUp = rampUpNanos > 0L;
+            while (running && attemptedCount < totalMessages && now - startNanos < durationNanos) {
+                if (rampingUp) {
+                    rampingUp = now - startNanos < rampUpNanos;
+                    rateLimiter.setRate(rateAt(now - startNanos, rampUpNanos));
+                }
+                int batchSize = (int) Math.min(burstSize, totalMessages - attemptedCount);
+                if (!rateLimiter.acquire(batchSize, MAX_WAIT_NANOS)) {
+                    now = System.nanoTime();
+                    continue;
+                }
+                for (int i = 0; i < batchSize; i++) {
+                    sendNext();
+                }
+                attemptedCount += batchSize;
+                now = System.nanoTime();
+                if (now - nextReportNanos >= 0) {
+                    nextReportNanos = now + reportIntervalNanos;
+                    logger.info(describe("Running"));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            sendChannel.flush();
+            endNanos = System.nanoTime();
+            running = false;
+            logger.info(describe("Finished"));
+        }
+    }
+
+    /**
+     * Build failures aren't seen by the send channel, so they are counted here. Send failures are already counted by
+     * its {@link SendStats}. Only the first failure is logged with its cause, the rest show up in the reports.
+     */
+    private void sendNext() throws InterruptedException {
+        ProducerRecord<Object, Object> producerRecord;
+        try {
+            producerRecord = producerPayloadResolver.createRecord(producerHandle, sendChannel, null);
+        } catch (RuntimeException e) {
+            unbuilt++;
+            logFailure("building", e);
+            return;
+        }
+
+        try {
+            sendChannel.send(producerRecord);
+            sent++;
+        } catch (RuntimeException e) {
+            logFailure("sending", e);
+        }
+    }
+
+    private void logFailure(String step, RuntimeException e) {
+        if (!failureLogged) {
+            failureLogged = true;
+            logger.error(String.format("Error %s a load record, failed records are counted and the run goes on. OperationId: %s", step, producerProperties.getOperationId()), e);
+        } else {
+            logger.debug(String.format("Error %s a load record. OperationId: %s, Cause: %s", step, producerProperties.getOperationId(), e));
+        }
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getSent() {
+        return sent;
+    }
+
+    public long getAcknowledged() {
+        return sendChannel.getSendStats().getAcknowledged() - acknowledgedBaseline;
+    }
+
+    public long getFailed() {
+        return sendChannel.getSendStats().getFailed() - failedBaseline + unbuilt;
+    }
+
+    public long getDropped() {
+        return sendChannel.getSendStats().getDropped() - droppedBaseline;
+    }
+
+    public double getAchievedMessagesPerSecond() {
+        long elapsedNanos = (endNanos != 0L ? endNanos : System.nanoTime()) - startNanos;
+        if (startNanos == 0L || elapsedNanos <= 0L) {
+            return 0D;
+        }
+        return getAcknowledged() * 1_000_000_000D / elapsedNanos;
+    }
+
+    private double rateAt(long elapsedNanos, long rampUpNanos) {
+        double target = loadProperties.getMessagesPerSecond();
+        if (elapsedNanos >= rampUpNanos) {
+            return target;
+        }
+        return Math.max(MIN_MESSAGES_PER_SECOND, target * elapsedNanos / rampUpNanos);
+    }
+
+    private String describe(String state) {
+        return String.format("[Load = %s, %s, Sent: %s, Acknowledged: %s, Failed: %s, Dropped: %s, Achieved: %.1f msg/s]", producerProperties.getOperationId(), state, getSent(), getAcknowledged(), getFailed(), getDropped(), getAchievedMessagesPerSecond());
+    }
+}
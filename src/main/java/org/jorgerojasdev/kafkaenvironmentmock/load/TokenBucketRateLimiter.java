@@ -0,0 +1,57 @@
+package org.jorgerojasdev.kafkaenvironmentmock.load;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Token bucket refilled at a (possibly changing) rate, holding at most one burst of permits. It is owned by a single
+ * load run thread, so it isn't thread-safe.
+ */
+final class TokenBucketRateLimiter {
+
+    private final long capacity;
+
+    private double tokens;
+
+    private double permitsPerNano;
+
+    private long lastRefillNanos;
+
+    TokenBucketRateLimiter(double permitsPerSecond, long capacity) {
+        this.capacity = capacity;
+        this.lastRefillNanos = System.nanoTime();
+        this.permitsPerNano = permitsPerSecond / 1_000_000_000D;
+    }
+
+    void setRate(double permitsPerSecond) {
+        refill(System.nanoTime());
+        this.permitsPerNano = permitsPerSecond / 1_000_000_000D;
+    }
+
+    /**
+     * Waits up to {@code maxWaitNanos} for the permits, so that callers can re-evaluate the rate or stop in between.
+     */
+    boolean acquire(int permits, long maxWaitNanos) throws InterruptedException {
+        long deadlineNanos = System.nanoTime() + maxWaitNanos;
+        while (true) {
+            long nowNanos = System.nanoTime();
+            refill(nowNanos);
+            if (tokens >= permits) {
+                tokens -= permits;
+                return true;
+            }
+            long remainingNanos = deadlineNanos - nowNanos;
+            if (remainingNanos <= 0L) {
+                return false;
+            }
+            LockSupport.parkNanos(Math.min(remainingNanos, (long) Math.ceil((permits - tokens) / permitsPerNano)));
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    private void refill(long nowNanos) {
+        tokens = Math.min(capacity, tokens + (nowNanos - lastRefillNanos) * permitsPerNano);
+        lastRefillNanos = nowNanos;
+    }
+}
@@ -0,0 +1,105 @@
+package org.jorgerojasdev.kafkaenvironmentmock.mapper;
+
+import org.apache.avro.Schema;
+import org.apache.avro.specific.SpecificData;
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Mapping plan of a generated Avro class: constructor and field setters are resolved once as method handles together
+ * with the converter of every field, so mapping a message doesn't touch reflection anymore.
+ */
+public final class AvroRecordPlan<T> implements RecordPlan {
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<T> avroClass;
+
+    private final MethodHandle constructor;
+
+    private final FieldPlan[] fields;
+
+    private AvroRecordPlan(Class<T> avroClass, MethodHandle constructor, FieldPlan[] fields) {
+        this.avroClass = avroClass;
+        this.constructor = constructor;
+        this.fields = fields;
+    }
+
+    static <T> AvroRecordPlan<T> compile(Class<T> avroClass, Function<Class<?>, AvroRecordPlan<?>> planResolver) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            Constructor<T> emptyConstructor = avroClass.getDeclaredConstructor();
+            emptyConstructor.setAccessible(true);
+            MethodHandle constructor = lookup.unreflectConstructor(emptyConstructor).asType(CONSTRUCTOR_TYPE);
+
+            List<FieldPlan> fields = new ArrayList<>();
+            for (Field field : avroClass.getDeclaredFields()) {
+                if (field.getModifiers() == Modifier.PRIVATE || field.getModifiers() == Modifier.PUBLIC) {
+                    field.setAccessible(true);
+                    fields.add(new FieldPlan(
+                            field.getName(),
+                            lookup.unreflectSetter(field).asType(SETTER_TYPE),
+                            ValueConverters.resolve(field.getGenericType(), planResolver)));
+                }
+            }
+            return new AvroRecordPlan<>(avroClass, constructor, fields.toArray(new FieldPlan[0]));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new AutoconfigureKEMException(String.format("Can't build mapping plan for class: %s", avroClass.getName()), e);
+        }
+    }
+
+    public Class<T> getAvroClass() {
+        return avroClass;
+    }
+
+    @Override
+    public Schema getSchema() {
+        return SpecificData.get().getSchema(avroClass);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T map(Map<String, Object> properties) {
+        try {
+            Object object = constructor.invokeExact();
+            for (FieldPlan field : fields) {
+                Object value = properties.get(field.name);
+                if (value != null) {
+                    field.setter.invokeExact(object, field.converter.convert(value));
+                }
+            }
+            return (T) object;
+        } catch (AutoconfigureKEMException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new AutoconfigureKEMException(String.format("Error mapping object to %s", avroClass.getName()), e);
+        }
+    }
+
+    private static final class FieldPlan {
+
+        private final String name;
+
+        private final MethodHandle setter;
+
+        private final ValueConverter converter;
+
+        private FieldPlan(String name, MethodHandle setter, ValueConverter converter) {
+            this.name = name;
+            this.setter = setter;
+            this.converter = converter;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.jorgerojasdev.kafkaenvironmentmock.mapper;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaParseException;
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.KemProducerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds {@code GenericData.Record}s straight from the {@code .avsc} schemas found on {@code kem.producer.schema-locations},
+ * so records don't need generated classes on the classpath.
+ */
+@Component
+@RequiredArgsConstructor
+public class GenericRecordMapper {
+
+    private final KemProducerProperties kemProducerProperties;
+
+    private final Map<String, Schema> schemasByFullName = new ConcurrentHashMap<>();
+
+    private final Map<String, GenericRecordPlan> plansByFullName = new ConcurrentHashMap<>();
+
+    private static final Logger logger = LoggerFactory.getLogger(GenericRecordMapper.class);
+
+    @PostConstruct
+    private void loadSchemas() throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        List<Resource> pending = new ArrayList<>();
+        for (String location : kemProducerProperties.getSchemaLocations()) {
+            Collections.addAll(pending, resolver.getResources(location));
+        }
+
+        Map<String, Schema> resolved = new LinkedHashMap<>();
+        Map<Resource, Exception> errors = new LinkedHashMap<>();
+        boolean parsed = true;
+        while (!pending.isEmpty() && parsed) {
+            parsed = false;
+            errors.clear();
+            List<Resource> unresolved = new ArrayList<>();
+            for (Resource resource : pending) {
+                // A failed parse leaves its record half defined on the parser, so every file gets a new parser
+                // that only knows the schemas already resolved
+                Schema.Parser parser = new Schema.Parser();
+                parser.addTypes(resolved);
+                try (InputStream inputStream = resource.getInputStream()) {
+                    parser.parse(inputStream);
+                    resolved.putAll(parser.getTypes());
+                    parsed = true;
+                } catch (SchemaParseException e) {
+                    // It may reference a schema of a file not parsed yet, so it is retried on the next round
+                    unresolved.add(resource);
+                    errors.put(resource, e);
+                }
+            }
+            pending = unresolved;
+        }
+
+        errors.forEach((resource, e) -> logger.warn(String.format("Avro schema can't be parsed: %s. Cause: %s", resource.getDescription(), e.getMessage())));
+        schemasByFullName.putAll(resolved);
+        logger.info(String.format("Avro schemas loaded for generic mapping: %s", schemasByFullName.size()));
+    }
+
+    public GenericRecordPlan getPlan(String namespace, String name) {
+        String fullName = String.format("%s.%s", namespace, name);
+        Schema schema = schemasByFullName.get(fullName);
+        if (schema == null || !Schema.Type.RECORD.equals(schema.getType())) {
+            throw new AutoconfigureKEMException(String.format("Avro record schema not found: %s", fullName));
+        }
+        return getPlan(schema);
+    }
+
+    private GenericRecordPlan getPlan(Schema schema) {
+        return plansByFullName.computeIfAbsent(schema.getFullName(), fullName -> GenericRecordPlan.compile(schema, this::getPlan));
+    }
+}
@@ -0,0 +1,136 @@
+package org.jorgerojasdev.kafkaenvironmentmock.mapper;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.EncoderFactory;
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Mapping plan of an Avro schema: every field is resolved once to its position, converter and default value, and the
+ * {@link DatumWriter} of the schema is created once and reused to encode every record. The output buffer and the
+ * encoder are reused per thread. Defaults that can be mutated, such as records, arrays, maps or strings, are copied
+ * into every record, since the default value of a field is a single instance shared by all of them.
+ */
+public final class GenericRecordPlan implements RecordPlan {
+
+    private static final byte MAGIC_BYTE = 0x0;
+
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+    private static final ThreadLocal<EncodeBuffer> ENCODE_BUFFERS = ThreadLocal.withInitial(EncodeBuffer::new);
+
+    private final Schema schema;
+
+    private final FieldPlan[] fields;
+
+    private final DatumWriter<GenericRecord> writer;
+
+    private GenericRecordPlan(Schema schema, FieldPlan[] fields) {
+        this.schema = schema;
+        this.fields = fields;
+        this.writer = new GenericDatumWriter<>(schema);
+    }
+
+    static GenericRecordPlan compile(Schema schema, Function<Schema, GenericRecordPlan> planResolver) {
+        List<Schema.Field> schemaFields = schema.getFields();
+        FieldPlan[] fields = new FieldPlan[schemaFields.size()];
+        for (Schema.Field field : schemaFields) {
+            fields[field.pos()] = new FieldPlan(
+                    field.name(),
+                    field.pos(),
+                    field.schema(),
+                    GenericValueConverters.resolve(field.schema(), planResolver),
+                    field.hasDefaultValue() ? GenericData.get().getDefaultValue(field) : null);
+        }
+        return new GenericRecordPlan(schema, fields);
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    @Override
+    public GenericData.Record map(Map<String, Object> properties) {
+        GenericData.Record record = new GenericData.Record(schema);
+        for (FieldPlan field : fields) {
+            Object value = properties.get(field.name);
+            if (value != null) {
+                record.put(field.pos, field.converter.convert(value));
+            } else if (field.defaultValue != null) {
+                record.put(field.pos, field.defaultValue());
+            }
+        }
+        return record;
+    }
+
+    /**
+     * Encodes the record on the schema registry wire format: magic byte, schema id and the Avro binary body.
+     */
+    public byte[] encode(GenericRecord record, int schemaId) {
+        EncodeBuffer buffer = ENCODE_BUFFERS.get();
+        ByteArrayOutputStream out = buffer.out;
+        out.reset();
+        out.write(MAGIC_BYTE);
+        out.write(schemaId >>> 24);
+        out.write(schemaId >>> 16);
+        out.write(schemaId >>> 8);
+        out.write(schemaId);
+        try {
+            writer.write(record, buffer.encoder);
+            buffer.encoder.flush();
+        } catch (IOException | RuntimeException e) {
+            throw new AutoconfigureKEMException(String.format("Error encoding record of schema: %s", schema.getFullName()), e);
+        }
+        byte[] bytes = out.toByteArray();
+        if (bytes.length > MAX_RETAINED_BUFFER_SIZE) {
+            // Don't keep the memory of an unusually large record for the life of the thread
+            ENCODE_BUFFERS.remove();
+        }
+        return bytes;
+    }
+
+    private static final class FieldPlan {
+
+        private final String name;
+
+        private final int pos;
+
+        private final Schema schema;
+
+        private final ValueConverter converter;
+
+        private final Object defaultValue;
+
+        private final boolean copyDefault;
+
+        private FieldPlan(String name, int pos, Schema schema, ValueConverter converter, Object defaultValue) {
+            this.name = name;
+            this.pos = pos;
+            this.schema = schema;
+            this.converter = converter;
+            this.defaultValue = defaultValue;
+            this.copyDefault = !(defaultValue instanceof Boolean || defaultValue instanceof Number || defaultValue instanceof GenericData.EnumSymbol);
+        }
+
+        private Object defaultValue() {
+            return copyDefault ? GenericData.get().deepCopy(schema, defaultValue) : defaultValue;
+        }
+    }
+
+    private static final class EncodeBuffer {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+
+        private final BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+    }
+}
@@ -0,0 +1,153 @@
+package org.jorgerojasdev.kafkaenvironmentmock.mapper;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Resolves, once per field schema, the converter used to turn a raw property value into the value expected by a
+ * {@link GenericData.Record}.
+ */
+final class GenericValueConverters {
+
+    private GenericValueConverters() {
+    }
+
+    static ValueConverter resolve(Schema schema, Function<Schema, GenericRecordPlan> planResolver) {
+        switch (schema.getType()) {
+            case STRING:
+                return value -> value instanceof String ? value : value.toString();
+            case INT:
+                return value -> value instanceof Number ? ((Number) value).intValue() : Integer.valueOf(value.toString());
+            case LONG:
+                return value -> value instanceof Number ? ((Number) value).longValue() : Long.valueOf(value.toString());
+            case FLOAT:
+                return value -> value instanceof Number ? ((Number) value).floatValue() : Float.valueOf(value.toString());
+            case DOUBLE:
+                return value -> value instanceof Number ? ((Number) value).doubleValue() : Double.valueOf(value.toString());
+            case BOOLEAN:
+                return value -> value instanceof Boolean ? value : Boolean.valueOf(value.toString());
+            case BYTES:
+                return value -> ByteBuffer.wrap(toBytes(value));
+            case FIXED:
+                return value -> new GenericData.Fixed(schema, toBytes(value));
+            case ENUM:
+                return resolveEnum(schema);
+            case RECORD:
+                return new RecordConverter(schema, planResolver);
+            case ARRAY:
+                return listConverter(resolve(schema.getElementType(), planResolver));
+            case MAP:
+                return mapConverter(resolve(schema.getValueType(), planResolver));
+            case UNION:
+                return resolveUnion(schema, planResolver);
+            default:
+                return value -> null;
+        }
+    }
+
+    private static byte[] toBytes(Object value) {
+        if (value instanceof byte[]) {
+            return (byte[]) value;
+        }
+        return value.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static ValueConverter resolveEnum(Schema schema) {
+        Map<String, GenericData.EnumSymbol> symbols = new HashMap<>();
+        schema.getEnumSymbols().forEach(symbol -> symbols.put(symbol, new GenericData.EnumSymbol(schema, symbol)));
+        return value -> {
+            GenericData.EnumSymbol symbol = symbols.get(value.toString());
+            if (symbol == null) {
+                throw new AutoconfigureKEMException(String.format("Symbol: %s not found on enum: %s", value, schema.getFullName()));
+            }
+            return symbol;
+        };
+    }
+
+    /**
+     * Optional fields ({@code ["null", type]}) use the converter of their only type. Other unions use the first branch
+     * able to convert the value.
+     */
+    private static ValueConverter resolveUnion(Schema schema, Function<Schema, GenericRecordPlan> planResolver) {
+        ValueConverter[] branches = schema.getTypes().stream()
+                .filter(branch -> !Schema.Type.NULL.equals(branch.getType()))
+                .map(branch -> resolve(branch, planResolver))
+                .toArray(ValueConverter[]::new);
+
+        if (branches.length == 1) {
+            return branches[0];
+        }
+
+        return value -> {
+            for (ValueConverter branch : branches) {
+                try {
+                    return branch.convert(value);
+                } catch (RuntimeException e) {
+                    // Try with the next branch of the union
+                }
+            }
+            throw new AutoconfigureKEMException(String.format("Value: %s doesn't match any type of union: %s", value, schema));
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ValueConverter mapConverter(ValueConverter valueConverter) {
+        return value -> {
+            Map<String, Object> source = (Map<String, Object>) value;
+            Map<String, Object> map = new HashMap<>(source.size() * 2);
+            source.forEach((key, item) -> map.put(key, item != null ? valueConverter.convert(item) : null));
+            return map;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ValueConverter listConverter(ValueConverter itemConverter) {
+        return value -> {
+            Collection<Object> source = value instanceof Map ? ((Map<String, Object>) value).values() : (Collection<Object>) value;
+            List<Object> list = new ArrayList<>(source.size());
+            for (Object item : source) {
+                list.add(item != null ? itemConverter.convert(item) : null);
+            }
+            return list;
+        };
+    }
+
+    /**
+     * Nested records resolve their plan lazily so that recursive schemas don't recurse while the parent plan is
+     * still being built.
+     */
+    private static final class RecordConverter implements ValueConverter {
+
+        private final Schema schema;
+
+        private final Function<Schema, GenericRecordPlan> planResolver;
+
+        private volatile GenericRecordPlan plan;
+
+        private RecordConverter(Schema schema, Function<Schema, GenericRecordPlan> planResolver) {
+            this.schema = schema;
+            this.planResolver = planResolver;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object convert(Object value) {
+            GenericRecordPlan resolvedPlan = plan;
+            if (resolvedPlan == null) {
+                resolvedPlan = planResolver.apply(schema);
+                plan = resolvedPlan;
+            }
+            return resolvedPlan.map((Map<String, Object>) value);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.jorgerojasdev.kafkaenvironmentmock.mapper;
+
+import org.apache.avro.Schema;
+
+import java.util.Map;
+
+/**
+ * Mapping plan of a record, compiled once and used to build the Avro record of every message.
+ */
+public interface RecordPlan {
+
+    Object map(Map<String, Object> properties);
+
+    Schema getSchema();
+}
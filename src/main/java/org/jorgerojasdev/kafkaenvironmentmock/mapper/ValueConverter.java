@@ -0,0 +1,7 @@
+package org.jorgerojasdev.kafkaenvironmentmock.mapper;
+
+@FunctionalInterface
+interface ValueConverter {
+
+    Object convert(Object value);
+}
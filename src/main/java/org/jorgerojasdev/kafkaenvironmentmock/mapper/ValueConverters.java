@@ -0,0 +1,175 @@
+package org.jorgerojasdev.kafkaenvironmentmock.mapper;
+
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Resolves, once per field type, the converter used to turn a raw property value into the value expected by the
+ * generated Avro class.
+ */
+final class ValueConverters {
+
+    private static final ValueConverter IDENTITY = value -> value;
+
+    private ValueConverters() {
+    }
+
+    static ValueConverter resolve(Type type, Function<Class<?>, AvroRecordPlan<?>> planResolver) {
+        if (type instanceof ParameterizedType) {
+            return resolveParameterized((ParameterizedType) type, planResolver);
+        }
+
+        Class<?> clazz = (Class<?>) type;
+
+        if (Map.class.isAssignableFrom(clazz) || Collection.class.isAssignableFrom(clazz)) {
+            return IDENTITY;
+        }
+
+        if (isAutoAssignable(clazz)) {
+            return resolveScalar(clazz);
+        }
+
+        if (clazz.isEnum()) {
+            return resolveEnum(clazz);
+        }
+
+        return new RecordConverter(clazz, planResolver);
+    }
+
+    private static ValueConverter resolveParameterized(ParameterizedType type, Function<Class<?>, AvroRecordPlan<?>> planResolver) {
+        Class<?> rawType = (Class<?>) type.getRawType();
+
+        if (Map.class.isAssignableFrom(rawType)) {
+            return mapConverter(resolve(type.getActualTypeArguments()[1], planResolver));
+        }
+
+        if (Collection.class.isAssignableFrom(rawType)) {
+            return listConverter(resolve(type.getActualTypeArguments()[0], planResolver));
+        }
+
+        return resolve(rawType, planResolver);
+    }
+
+    private static boolean isAutoAssignable(Class<?> clazz) {
+        return clazz.getGenericSuperclass() == null
+                || Number.class.isAssignableFrom(clazz)
+                || String.class.equals(clazz)
+                || Boolean.class.equals(clazz);
+    }
+
+    private static ValueConverter resolveScalar(Class<?> clazz) {
+        switch (clazz.getSimpleName()) {
+            case "int":
+            case "Integer":
+                return value -> value instanceof Integer ? value : resolveInteger(value);
+            case "long":
+            case "Long":
+                return value -> value instanceof Long ? value : resolveLong(value);
+            case "float":
+            case "Float":
+                return value -> value instanceof Float ? value : Float.valueOf(value.toString());
+            case "double":
+            case "Double":
+                return value -> value instanceof Double ? value : Double.valueOf(value.toString());
+            case "boolean":
+            case "Boolean":
+                return value -> value instanceof Boolean ? value : Boolean.valueOf(value.toString());
+            default:
+                return value -> {
+                    try {
+                        return clazz.cast(value);
+                    } catch (ClassCastException e) {
+                        throw new AutoconfigureKEMException("Can't cast object", e);
+                    }
+                };
+        }
+    }
+
+    private static Integer resolveInteger(Object object) {
+        if (object instanceof Double) {
+            return ((Double) object).intValue();
+        }
+
+        return Integer.valueOf(object.toString());
+    }
+
+    private static Long resolveLong(Object object) {
+        if (object instanceof Double) {
+            return ((Double) object).longValue();
+        }
+
+        return Long.valueOf(object.toString());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ValueConverter resolveEnum(Class<?> clazz) {
+        Class<? extends Enum> enumClazz = (Class<? extends Enum>) clazz;
+        return value -> Enum.valueOf(enumClazz, String.valueOf(value));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ValueConverter mapConverter(ValueConverter valueConverter) {
+        return value -> {
+            Map<String, Object> source = (Map<String, Object>) value;
+            Map<String, Object> map = new HashMap<>(source.size() * 2);
+            source.forEach((key, item) -> map.put(key, convertItem(valueConverter, item)));
+            return map;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ValueConverter listConverter(ValueConverter itemConverter) {
+        return value -> {
+            Collection<Object> source = value instanceof Map ? ((Map<String, Object>) value).values() : (Collection<Object>) value;
+            List<Object> list = new ArrayList<>(source.size());
+            for (Object item : source) {
+                list.add(convertItem(itemConverter, item));
+            }
+            return list;
+        };
+    }
+
+    private static Object convertItem(ValueConverter converter, Object item) {
+        if (item == null) {
+            return null;
+        }
+        try {
+            return converter.convert(item);
+        } catch (AutoconfigureKEMException e) {
+            throw new AutoconfigureKEMException(String.format("Error casting object: %s", item), e);
+        }
+    }
+
+    /**
+     * Nested records resolve their plan lazily so that recursive schemas don't recurse while the parent plan is
+     * still being built.
+     */
+    private static final class RecordConverter implements ValueConverter {
+
+        private final Class<?> recordClass;
+
+        private final Function<Class<?>, AvroRecordPlan<?>> planResolver;
+
+        private volatile AvroRecordPlan<?> plan;
+
+        private RecordConverter(Class<?> recordClass, Function<Class<?>, AvroRecordPlan<?>> planResolver) {
+            this.recordClass = recordClass;
+            this.planResolver = planResolver;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object convert(Object value) {
+            AvroRecordPlan<?> resolvedPlan = plan;
+            if (resolvedPlan == null) {
+                resolvedPlan = planResolver.apply(recordClass);
+                plan = resolvedPlan;
+            }
+            return resolvedPlan.map((Map<String, Object>) value);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.jorgerojasdev.kafkaenvironmentmock.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.jorgerojasdev.kafkaenvironmentmock.consumer.ConsumerDispatcher;
+import org.jorgerojasdev.kafkaenvironmentmock.load.LoadGenerator;
+import org.jorgerojasdev.kafkaenvironmentmock.load.LoadRun;
+import org.jorgerojasdev.kafkaenvironmentmock.producer.ProducerScheduler;
+import org.jorgerojasdev.kafkaenvironmentmock.recording.ReplayGenerator;
+import org.jorgerojasdev.kafkaenvironmentmock.recording.ReplayRun;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * Meters of the executors of KEM: producer scheduler, consumer dispatcher, load runs and replay runs. They are
+ * registered once the executors exist instead of through a {@code MeterBinder}, because the executors depend on the
+ * registry themselves.
+ */
+@Component
+@RequiredArgsConstructor
+public class KemExecutorMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    private final ProducerScheduler producerScheduler;
+
+    private final ConsumerDispatcher consumerDispatcher;
+
+    private final LoadGenerator loadGenerator;
+
+    private final ReplayGenerator replayGenerator;
+
+    @PostConstruct
+    private void bindMeters() {
+        Gauge.builder("kem.scheduler.queue.depth", producerScheduler, ProducerScheduler::getQueueDepth)
+                .description("Producer tasks waiting on the scheduler")
+                .register(meterRegistry);
+        Gauge.builder("kem.scheduler.active", producerScheduler, ProducerScheduler::getActiveCount)
+                .description("Producer tasks running")
+                .register(meterRegistry);
+        FunctionCounter.builder("kem.scheduler.completed", producerScheduler, ProducerScheduler::getCompletedTaskCount)
+                .description("Producer tasks completed")
+                .register(meterRegistry);
+        Gauge.builder("kem.consumer.dispatch.queue.depth", consumerDispatcher, ConsumerDispatcher::getQueueDepth)
+                .description("Consumed records waiting on the dispatcher")
+                .register(meterRegistry);
+        Gauge.builder("kem.load.runs.active", loadGenerator, generator -> generator.getLoadRuns().values().stream().filter(LoadRun::isRunning).count())
+                .description("Load runs in progress")
+                .register(meterRegistry);
+        Gauge.builder("kem.replay.runs.active", replayGenerator, generator -> generator.getReplayRuns().values().stream().filter(ReplayRun::isRunning).count())
+                .description("Replay runs in progress")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,104 @@
+package org.jorgerojasdev.kafkaenvironmentmock.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.kafka.KafkaClientMetrics;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.producer.Producer;
+import org.jorgerojasdev.kafkaenvironmentmock.producer.SendChannel;
+import org.jorgerojasdev.kafkaenvironmentmock.producer.SendStats;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Meters of the producers, consumers and mapping of KEM. Meters are resolved once per operation or topic and cached,
+ * so recording on the hot path doesn't go through the registry lookup. Send counters are read from the
+ * {@link SendStats} of each channel when the registry is scraped.
+ */
+@Component
+@RequiredArgsConstructor
+public class KemMetrics {
+
+    private static final String OPERATION_ID_TAG = "operationId";
+
+    private static final String TOPIC_TAG = "topic";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> mappingTimers = new ConcurrentHashMap<>();
+
+    private final Map<String, Timer> processingTimers = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> consumedCounters = new ConcurrentHashMap<>();
+
+    private final List<KafkaClientMetrics> kafkaClientMetrics = new CopyOnWriteArrayList<>();
+
+    public Timer createSendLatencyTimer(String operationId, String topic) {
+        return Timer.builder("kem.producer.send.latency")
+                .description("Time from send to broker acknowledgement")
+                .tags(Tags.of(OPERATION_ID_TAG, operationId, TOPIC_TAG, topic))
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public void bindSendChannel(String operationId, String topic, SendChannel sendChannel) {
+        Tags tags = Tags.of(OPERATION_ID_TAG, operationId, TOPIC_TAG, topic);
+        SendStats sendStats = sendChannel.getSendStats();
+        FunctionCounter.builder("kem.producer.sent", sendStats, SendStats::getSent).tags(tags).register(meterRegistry);
+        FunctionCounter.builder("kem.producer.acknowledged", sendStats, SendStats::getAcknowledged).tags(tags).register(meterRegistry);
+        FunctionCounter.builder("kem.producer.errors", sendStats, SendStats::getFailed).tags(tags).register(meterRegistry);
+        FunctionCounter.builder("kem.producer.dropped", sendStats, SendStats::getDropped).tags(tags).register(meterRegistry);
+        FunctionCounter.builder("kem.producer.retries", sendStats, SendStats::getRetried).tags(tags).register(meterRegistry);
+        Gauge.builder("kem.producer.in.flight", sendChannel, SendChannel::getInFlight).tags(tags).register(meterRegistry);
+    }
+
+    /**
+     * Binds the client metrics of a Kafka producer (record send rate, request latency, buffer usage...).
+     */
+    public void bindKafkaProducer(Producer<?, ?> producer) {
+        KafkaClientMetrics clientMetrics = new KafkaClientMetrics(producer);
+        clientMetrics.bindTo(meterRegistry);
+        kafkaClientMetrics.add(clientMetrics);
+    }
+
+    public Timer getMappingTimer(String operationId) {
+        return mappingTimers.computeIfAbsent(operationId, key -> Timer.builder("kem.mapping.time")
+                .description("Time to build the Avro record of a message")
+                .tag(OPERATION_ID_TAG, key)
+                .register(meterRegistry));
+    }
+
+    public Timer getProcessingTimer(String topic) {
+        return processingTimers.computeIfAbsent(topic, key -> Timer.builder("kem.consumer.processing")
+                .description("Time to route a consumed record and launch its producers")
+                .tag(TOPIC_TAG, key)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    public Counter getConsumedCounter(String topic) {
+        return consumedCounters.computeIfAbsent(topic, key -> Counter.builder("kem.consumer.records")
+                .description("Records consumed")
+                .tag(TOPIC_TAG, key)
+                .register(meterRegistry));
+    }
+
+    public MeterRegistry getMeterRegistry() {
+        return meterRegistry;
+    }
+
+    @PreDestroy
+    private void close() {
+        kafkaClientMetrics.forEach(KafkaClientMetrics::close);
+        kafkaClientMetrics.clear();
+    }
+}
@@ -0,0 +1,10 @@
+package org.jorgerojasdev.kafkaenvironmentmock.partitioning;
+
+/**
+ * Generates the key of every record sent by a producer. {@code value} is the record about to be sent.
+ */
+@FunctionalInterface
+public interface KeyGenerator {
+
+    Object nextKey(Object value);
+}
@@ -0,0 +1,92 @@
+package org.jorgerojasdev.kafkaenvironmentmock.partitioning;
+
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.KeyGeneratorProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.routing.RecordAccessors;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Compiles the {@code keyGenerator} of a producer. Pool keys are built once, so picking one doesn't allocate, and
+ * random values come from {@link ThreadLocalRandom} to avoid contention between sending threads.
+ */
+public final class KeyGenerators {
+
+    private KeyGenerators() {
+    }
+
+    /**
+     * @return the compiled generator, or null when the producer sends its constant {@code key}
+     */
+    public static KeyGenerator compile(KeyGeneratorProperties keyGenerator) {
+        if (keyGenerator == null) {
+            return null;
+        }
+
+        switch (keyGenerator.getType()) {
+            case SEQUENCE:
+                return sequence(keyGenerator.getPrefix(), keyGenerator.getStart());
+            case UUID:
+                return value -> randomUuid();
+            case POOL:
+                return pool(keyGenerator.getPrefix(), keyGenerator.getPoolSize());
+            default:
+                return fields(keyGenerator);
+        }
+    }
+
+    private static KeyGenerator sequence(String prefix, long start) {
+        AtomicLong sequence = new AtomicLong(start);
+        if (prefix.isEmpty()) {
+            return value -> Long.toString(sequence.getAndIncrement());
+        }
+        return value -> prefix.concat(Long.toString(sequence.getAndIncrement()));
+    }
+
+    /**
+     * Random UUID built from {@link ThreadLocalRandom} instead of the shared {@code SecureRandom} of
+     * {@link UUID#randomUUID()}.
+     */
+    public static String randomUuid() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (random.nextLong() & 0xffffffffffff0fffL) | 0x0000000000004000L;
+        long leastSigBits = (random.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+
+    private static KeyGenerator pool(String prefix, int poolSize) {
+        String[] keys = new String[poolSize];
+        for (int i = 0; i < poolSize; i++) {
+            keys[i] = prefix.concat(Integer.toString(i));
+        }
+        return value -> keys[ThreadLocalRandom.current().nextInt(keys.length)];
+    }
+
+    /**
+     * The key is built from the given fields of the record value, so records with the same fields share partition.
+     */
+    @SuppressWarnings("unchecked")
+    private static KeyGenerator fields(KeyGeneratorProperties keyGenerator) {
+        Function<Object, Object>[] accessors = keyGenerator.getFields().stream()
+                .map(RecordAccessors::valueField)
+                .toArray(Function[]::new);
+
+        String prefix = keyGenerator.getPrefix();
+        if (accessors.length == 1) {
+            return value -> prefix.concat(String.valueOf(accessors[0].apply(value)));
+        }
+
+        return value -> {
+            StringBuilder key = new StringBuilder(prefix);
+            for (int i = 0; i < accessors.length; i++) {
+                if (i > 0) {
+                    key.append(':');
+                }
+                key.append(accessors[i].apply(value));
+            }
+            return key.toString();
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package org.jorgerojasdev.kafkaenvironmentmock.partitioning;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Selects the partition of every record sent by a producer. A null partition leaves the choice to the Kafka
+ * partitioner, which hashes the key. The partition count is only read by the selectors that need it, so the default
+ * one never waits for the topic metadata.
+ */
+@FunctionalInterface
+public interface PartitionSelector {
+
+    PartitionSelector DEFAULT = partitionCount -> null;
+
+    Integer nextPartition(IntSupplier partitionCount);
+}
@@ -0,0 +1,75 @@
+package org.jorgerojasdev.kafkaenvironmentmock.partitioning;
+
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.PartitioningProperties;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Compiles the {@code partitioning} of a producer:
+ * <ul>
+ *     <li>{@code ROUND_ROBIN}: one record per partition in turn.</li>
+ *     <li>{@code STICKY}: {@code stickyBatchSize} records on a partition before moving to the next one.</li>
+ *     <li>{@code EXPLICIT}: round robin over the declared {@code partitions}; repeating a partition weights it.</li>
+ * </ul>
+ * Round robin and sticky spread over the declared {@code partitions} too when there are any. Declared partitions are
+ * checked at startup against the provisioned topics, and again by the selector before its first record. A failed check
+ * is kept, so later records fail with it without reading the topic metadata again.
+ */
+public final class PartitionSelectors {
+
+    private PartitionSelectors() {
+    }
+
+    public static PartitionSelector compile(PartitioningProperties partitioning) {
+        if (partitioning == null) {
+            return PartitionSelector.DEFAULT;
+        }
+
+        int[] partitions = partitioning.getPartitions().stream().mapToInt(Integer::intValue).toArray();
+        switch (partitioning.getStrategy()) {
+            case ROUND_ROBIN:
+            case EXPLICIT:
+                return cycle(partitions, 1);
+            case STICKY:
+                return cycle(partitions, partitioning.getStickyBatchSize());
+            default:
+                return PartitionSelector.DEFAULT;
+        }
+    }
+
+    private static PartitionSelector cycle(int[] partitions, int recordsPerPartition) {
+        AtomicLong sequence = new AtomicLong();
+        if (partitions.length > 0) {
+            int maxPartition = Arrays.stream(partitions).max().getAsInt();
+            AtomicBoolean checked = new AtomicBoolean();
+            AtomicReference<AutoconfigureKEMException> checkFailure = new AtomicReference<>();
+            return partitionCount -> {
+                if (!checked.get()) {
+                    AutoconfigureKEMException failure = checkFailure.get();
+                    if (failure != null) {
+                        throw failure;
+                    }
+                    try {
+                        checkPartition(maxPartition, partitionCount.getAsInt());
+                    } catch (AutoconfigureKEMException e) {
+                        checkFailure.set(e);
+                        throw e;
+                    }
+                    checked.set(true);
+                }
+                return partitions[(int) Math.floorMod(sequence.getAndIncrement() / recordsPerPartition, (long) partitions.length)];
+            };
+        }
+        return partitionCount -> (int) Math.floorMod(sequence.getAndIncrement() / recordsPerPartition, (long) partitionCount.getAsInt());
+    }
+
+    private static void checkPartition(int partition, int partitionCount) {
+        if (partition >= partitionCount) {
+            throw new AutoconfigureKEMException(String.format("Partition %s doesn't exist, the topic has %s partitions", partition, partitionCount));
+        }
+    }
+}
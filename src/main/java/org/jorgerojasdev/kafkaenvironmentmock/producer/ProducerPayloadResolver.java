@@ -0,0 +1,170 @@
+package org.jorgerojasdev.kafkaenvironmentmock.producer;
+
+import io.confluent.kafka.serializers.KafkaAvroSerializer;
+import lombok.RequiredArgsConstructor;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.Serializer;
+import org.jorgerojasdev.kafkaenvironmentmock.mapper.GenericRecordPlan;
+import org.jorgerojasdev.kafkaenvironmentmock.mapper.MapToAvroMapper;
+import org.jorgerojasdev.kafkaenvironmentmock.metrics.KemMetrics;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.PayloadMode;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.ProducerProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.global.ProducerHandle;
+import org.jorgerojasdev.kafkaenvironmentmock.schema.AvroSerdes;
+import org.jorgerojasdev.kafkaenvironmentmock.schema.SchemaIdCache;
+import org.jorgerojasdev.kafkaenvironmentmock.template.RecordTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves the value sent by a producer. Static records can be built once ({@link PayloadMode#RECORD}) or even
+ * serialized once to Avro bytes ({@link PayloadMode#SERIALIZED}) and reused on every send. Records with a value
+ * template are derived from the consumed record, so they are mapped on every send whatever the payload mode.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProducerPayloadResolver {
+
+    private final MapToAvroMapper mapToAvroMapper;
+
+    private final Map<String, Object> payloadCache = new ConcurrentHashMap<>();
+
+    private final SchemaIdCache schemaIdCache;
+
+    private final AvroSerdes avroSerdes;
+
+    private final KemMetrics kemMetrics;
+
+    private Serializer<Object> payloadSerializer;
+
+    private static final Logger logger = LoggerFactory.getLogger(ProducerPayloadResolver.class);
+
+    public void preparePayload(ProducerHandle producerHandle) {
+        ProducerProperties producerProperties = producerHandle.getProducerProperties();
+        if (PayloadMode.DYNAMIC.equals(producerProperties.getPayloadMode()) || hasValueTemplate(producerHandle)) {
+            return;
+        }
+        try {
+            resolvePayload(producerHandle);
+        } catch (Exception e) {
+            logger.error(String.format("Error preparing payload, it will be retried on send. OperationId: %s", producerProperties.getOperationId()), e);
+        }
+    }
+
+    public Object resolvePayload(ProducerHandle producerHandle) {
+        return resolvePayload(producerHandle, null);
+    }
+
+    public Object resolvePayload(ProducerHandle producerHandle, ConsumerRecord<?, ?> source) {
+        ProducerProperties producerProperties = producerHandle.getProducerProperties();
+        if (hasValueTemplate(producerHandle)) {
+            Object record = mapRecord(producerHandle, producerHandle.getRecordTemplate().resolveValue(source));
+            return PayloadMode.SERIALIZED.equals(producerProperties.getPayloadMode()) ? serialize(producerHandle, record) : record;
+        }
+        switch (producerProperties.getPayloadMode()) {
+            case RECORD:
+                return payloadCache.computeIfAbsent(producerProperties.getOperationId(), operationId -> mapRecord(producerHandle));
+            case SERIALIZED:
+                return payloadCache.computeIfAbsent(producerProperties.getOperationId(), operationId -> serializeRecord(producerHandle));
+            default:
+                return mapRecord(producerHandle);
+        }
+    }
+
+    /**
+     * Builds the record to send: value first, so that the key generator can read it, then key, partition and headers.
+     */
+    public ProducerRecord<Object, Object> createRecord(ProducerHandle producerHandle, SendChannel sendChannel, ConsumerRecord<?, ?> source) {
+        ProducerProperties producerProperties = producerHandle.getProducerProperties();
+        Object value = resolvePayload(producerHandle, source);
+        return new ProducerRecord<>(
+                producerProperties.getTopic(),
+                producerHandle.getPartitionSelector().nextPartition(() -> sendChannel.getPartitionCount(producerProperties.getTopic())),
+                System.currentTimeMillis(),
+                resolveKey(producerHandle, source, value),
+                value,
+                resolveHeaders(producerHandle, source));
+    }
+
+    public Object resolveKey(ProducerHandle producerHandle, ConsumerRecord<?, ?> source, Object value) {
+        if (producerHandle.getKeyGenerator() != null) {
+            return producerHandle.getKeyGenerator().nextKey(value);
+        }
+        RecordTemplate recordTemplate = producerHandle.getRecordTemplate();
+        if (recordTemplate != null && recordTemplate.hasKeyTemplate()) {
+            return recordTemplate.resolveKey(source);
+        }
+        return producerHandle.getProducerProperties().getKey();
+    }
+
+    public List<Header> resolveHeaders(ProducerHandle producerHandle, ConsumerRecord<?, ?> source) {
+        RecordTemplate recordTemplate = producerHandle.getRecordTemplate();
+        return recordTemplate != null ? recordTemplate.resolveHeaders(source) : null;
+    }
+
+    private Object mapRecord(ProducerHandle producerHandle) {
+        return mapRecord(producerHandle, (Map<String, Object>) producerHandle.getProducerProperties().getRecord().get("value"));
+    }
+
+    private Object mapRecord(ProducerHandle producerHandle, Map<String, Object> value) {
+        long startNanos = System.nanoTime();
+        try {
+            return doMapRecord(producerHandle, value);
+        } finally {
+            kemMetrics.getMappingTimer(producerHandle.getOperationId()).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Object doMapRecord(ProducerHandle producerHandle, Map<String, Object> value) {
+        if (producerHandle.getRecordPlan() != null) {
+            return producerHandle.getRecordPlan().map(value);
+        }
+        Map<String, Object> object = producerHandle.getProducerProperties().getRecord();
+        String namespace = object.get("namespace").toString();
+        String name = object.get("name").toString();
+        return mapToAvroMapper.mapToAvro(namespace, name, Collections.singletonMap("value", value));
+    }
+
+    private boolean hasValueTemplate(ProducerHandle producerHandle) {
+        return producerHandle.getRecordTemplate() != null && producerHandle.getRecordTemplate().hasValueTemplate();
+    }
+
+    private byte[] serializeRecord(ProducerHandle producerHandle) {
+        return serialize(producerHandle, mapRecord(producerHandle));
+    }
+
+    /**
+     * Generic records are encoded with the writer precompiled on their plan and the schema id of the
+     * {@link SchemaIdCache}. Specific records go through a {@link KafkaAvroSerializer} on the shared registry client.
+     */
+    private byte[] serialize(ProducerHandle producerHandle, Object record) {
+        String topic = producerHandle.getProducerProperties().getTopic();
+        if (producerHandle.getRecordPlan() instanceof GenericRecordPlan) {
+            GenericRecordPlan recordPlan = (GenericRecordPlan) producerHandle.getRecordPlan();
+            return recordPlan.encode((GenericRecord) record, schemaIdCache.getValueSchemaId(topic, recordPlan.getSchema()));
+        }
+        return payloadSerializer.serialize(topic, record);
+    }
+
+    @PostConstruct
+    private void init() {
+        payloadSerializer = avroSerdes.createSerializer(KafkaAvroSerializer.class, false);
+    }
+
+    @PreDestroy
+    private void close() {
+        payloadSerializer.close();
+    }
+}
@@ -0,0 +1,95 @@
+package org.jorgerojasdev.kafkaenvironmentmock.producer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.jorgerojasdev.kafkaenvironmentmock.metrics.KemMetrics;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.KemClientProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.ProducerTuningProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.schema.AvroSerdes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shares one {@link KafkaProducer} among every operation using the same serializers and settings. Producers start from
+ * the {@code spring.kafka.*} properties, connection and security included, and KEM settings override them.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProducerRegistry {
+
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(10);
+
+    private final AvroSerdes avroSerdes;
+
+    private final KemMetrics kemMetrics;
+
+    private final KafkaProperties kafkaProperties;
+
+    private final KemClientProperties kemClientProperties;
+
+    private final Map<ProducerClientKey, Producer<Object, Object>> producersByClientKey = new ConcurrentHashMap<>();
+
+    private final Map<String, Producer<Object, Object>> producersByOperationId = new ConcurrentHashMap<>();
+
+    private final AtomicInteger clientSequence = new AtomicInteger();
+
+    private static final Logger logger = LoggerFactory.getLogger(ProducerRegistry.class);
+
+    public <K, V> Producer<K, V> getOrCreateProducer(String operationId, Class<?> keySerializer, Class<?> valueSerializer, ProducerTuningProperties tuning) {
+        Producer<Object, Object> producer = producersByOperationId.get(operationId);
+        if (producer == null) {
+            ProducerClientKey clientKey = new ProducerClientKey(keySerializer, valueSerializer, tuning.toProducerConfig());
+            producer = producersByOperationId.computeIfAbsent(operationId, id -> producersByClientKey.computeIfAbsent(clientKey, this::createProducer));
+        }
+        return (Producer<K, V>) producer;
+    }
+
+    private Producer<Object, Object> createProducer(ProducerClientKey clientKey) {
+        Properties props = new Properties();
+        props.putAll(kafkaProperties.buildProducerProperties());
+        props.putAll(kemClientProperties.toClientConfig());
+        props.put(ProducerConfig.CLIENT_ID_CONFIG, String.format("%s-%s", kemClientProperties.getClientIdPrefix(), clientSequence.getAndIncrement()));
+        props.putAll(clientKey.getProducerConfig());
+
+        Producer<Object, Object> producer = new KafkaProducer<>(props,
+                avroSerdes.createSerializer(clientKey.getKeySerializer(), true),
+                avroSerdes.createSerializer(clientKey.getValueSerializer(), false));
+        kemMetrics.bindKafkaProducer(producer);
+        return producer;
+    }
+
+    @PreDestroy
+    private void close() {
+        producersByClientKey.values().forEach(producer -> {
+            try {
+                producer.close(CLOSE_TIMEOUT);
+            } catch (Exception e) {
+                logger.error("Error closing producer", e);
+            }
+        });
+        producersByClientKey.clear();
+        producersByOperationId.clear();
+    }
+
+    @Value
+    private static class ProducerClientKey {
+
+        Class<?> keySerializer;
+
+        Class<?> valueSerializer;
+
+        Map<String, Object> producerConfig;
+    }
+}
@@ -0,0 +1,77 @@
+package org.jorgerojasdev.kafkaenvironmentmock.producer;
+
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.SchedulerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single bounded scheduler shared by every producer, for both one-shot and fixed-rate sends. Send retries run on a
+ * thread of their own: a retry holds an in-flight permit, so it must not wait behind sends blocked on those permits.
+ */
+@Component
+public class ProducerScheduler {
+
+    private final SchedulerProperties schedulerProperties;
+
+    private final ScheduledThreadPoolExecutor executor;
+
+    private final ScheduledThreadPoolExecutor retryExecutor;
+
+    private static final Logger logger = LoggerFactory.getLogger(ProducerScheduler.class);
+
+    public ProducerScheduler(SchedulerProperties schedulerProperties) {
+        this.schedulerProperties = schedulerProperties;
+        this.executor = new ScheduledThreadPoolExecutor(schedulerProperties.getPoolSize(), new CustomizableThreadFactory("kem-producer-"));
+        this.executor.setRemoveOnCancelPolicy(true);
+        this.executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.retryExecutor = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("kem-producer-retry-"));
+        this.retryExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    public ScheduledFuture<?> schedule(Runnable action, Long delayMs) {
+        return executor.schedule(action, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable action, Long initialDelayMs, Long fixedRateMs) {
+        return executor.scheduleAtFixedRate(action, initialDelayMs, fixedRateMs, TimeUnit.MILLISECONDS);
+    }
+
+    public ScheduledFuture<?> scheduleRetry(Runnable action, Long delayMs) {
+        return retryExecutor.schedule(action, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getPoolSize() {
+        return executor.getPoolSize();
+    }
+
+    public long getCompletedTaskCount() {
+        return executor.getCompletedTaskCount();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        retryExecutor.shutdown();
+        if (!executor.awaitTermination(schedulerProperties.getShutdownTimeoutMs(), TimeUnit.MILLISECONDS)) {
+            logger.warn(String.format("Producer scheduler didn't finish in %s ms, %s pending tasks discarded", schedulerProperties.getShutdownTimeoutMs(), executor.shutdownNow().size()));
+        }
+        if (!retryExecutor.awaitTermination(schedulerProperties.getShutdownTimeoutMs(), TimeUnit.MILLISECONDS)) {
+            logger.warn(String.format("Producer retries didn't finish in %s ms, %s pending retries discarded", schedulerProperties.getShutdownTimeoutMs(), retryExecutor.shutdownNow().size()));
+        }
+    }
+}
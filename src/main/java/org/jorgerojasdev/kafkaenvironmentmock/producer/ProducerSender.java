@@ -0,0 +1,58 @@
+package org.jorgerojasdev.kafkaenvironmentmock.producer;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.producer.Producer;
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.jorgerojasdev.kafkaenvironmentmock.metrics.KemMetrics;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.ProducerProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.DeliveryProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.KemProducerProperties;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the {@link SendChannel} of every operation, built from its delivery settings over the global ones.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProducerSender {
+
+    private final KemProducerProperties kemProducerProperties;
+
+    private final ProducerScheduler producerScheduler;
+
+    private final KemMetrics kemMetrics;
+
+    private final Map<String, SendChannel> sendChannels = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    private void validateDelivery() {
+        DeliveryProperties delivery = kemProducerProperties.getDelivery();
+        if (delivery.getMaxInFlight() == null || delivery.getInFlightPolicy() == null || delivery.getSendRetries() == null || delivery.getRetryBackoffMs() == null) {
+            throw new AutoconfigureKEMException("Fields of kem.producer.delivery must not be null");
+        }
+        delivery.validate("kem.producer.delivery");
+    }
+
+    public SendChannel getOrCreateChannel(ProducerProperties producerProperties, Producer<Object, Object> kafkaProducer) {
+        return sendChannels.computeIfAbsent(producerProperties.getOperationId(), operationId -> createChannel(producerProperties, kafkaProducer));
+    }
+
+    private SendChannel createChannel(ProducerProperties producerProperties, Producer<Object, Object> kafkaProducer) {
+        SendChannel sendChannel = new SendChannel(
+                producerProperties.getOperationId(),
+                kafkaProducer,
+                kemProducerProperties.getDelivery().overrideWith(producerProperties.getDelivery()),
+                producerScheduler,
+                kemMetrics.createSendLatencyTimer(producerProperties.getOperationId(), producerProperties.getTopic()));
+        kemMetrics.bindSendChannel(producerProperties.getOperationId(), producerProperties.getTopic(), sendChannel);
+        return sendChannel;
+    }
+
+    public SendChannel getChannel(String operationId) {
+        return sendChannels.get(operationId);
+    }
+}
@@ -2,28 +2,28 @@ package org.jorgerojasdev.kafkaenvironmentmock.producer;
 
 import io.confluent.kafka.serializers.KafkaAvroSerializer;
 import lombok.RequiredArgsConstructor;
-import org.apache.avro.specific.SpecificRecord;
-import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.producer.Producer;
-import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
-import org.jorgerojasdev.kafkaenvironmentmock.constants.KEMConstants;
-import org.jorgerojasdev.kafkaenvironmentmock.mapper.MapToAvroMapper;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.ByteBufferSerializer;
+import org.jorgerojasdev.kafkaenvironmentmock.load.LoadGenerator;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.PayloadMode;
 import org.jorgerojasdev.kafkaenvironmentmock.props.event.ProducerProperties;
 import org.jorgerojasdev.kafkaenvironmentmock.props.global.GlobalProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.global.ProducerHandle;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.KemProducerProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.ProducerTuningProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.recording.ReplayGenerator;
+import org.jorgerojasdev.kafkaenvironmentmock.schema.SchemaIdCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Properties;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.Collections;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -31,76 +31,141 @@ public class ProducersComponent {
 
     private final GlobalProperties globalProperties;
 
-    private final MapToAvroMapper mapToAvroMapper;
+    private final KemProducerProperties kemProducerProperties;
 
-    private final Map<String, Producer> producerMap = new HashMap<>();
+    private final ProducerPayloadResolver producerPayloadResolver;
+
+    private final ProducerScheduler producerScheduler;
+
+    private final LoadGenerator loadGenerator;
+
+    private final ReplayGenerator replayGenerator;
+
+    private final ProducerRegistry producerRegistry;
+
+    private final ProducerSender producerSender;
+
+    private final SchemaIdCache schemaIdCache;
 
     private static final Logger logger = LoggerFactory.getLogger(ProducersComponent.class);
 
     @EventListener(ApplicationReadyEvent.class)
     private void generateInitialProducers() throws ClassNotFoundException {
+        globalProperties.getProducerHandles().values().forEach(schemaIdCache::preload);
+        globalProperties.getProducerHandles().values().forEach(producerPayloadResolver::preparePayload);
         for (ProducerProperties producer : globalProperties.getInitialProducers()) {
-            Long initialDelayMs = producer.getDelayMs() > 3000 ? producer.getDelayMs() : 3000;
+            Long initialDelayMs = Math.max(producer.getDelayMs(), kemProducerProperties.getInitialDelayMs());
             executeProducer(producer, initialDelayMs, producer.getFixedScheduleTimeMs());
         }
     }
 
-    public <T extends SpecificRecord> void executeProducer(ProducerProperties producer, Long initialDelayMs, Long fixedRateMs) throws ClassNotFoundException {
-        Runnable produceAction = getRunnableProducerAction(producer, initialDelayMs);
-        ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
+    public void executeProducer(ProducerProperties producer, Long initialDelayMs, Long fixedRateMs) throws ClassNotFoundException {
+        executeProducer(resolveHandle(producer), initialDelayMs, fixedRateMs);
+    }
+
+    public void executeProducer(ProducerHandle producerHandle, Long initialDelayMs, Long fixedRateMs) throws ClassNotFoundException {
+        executeProducer(producerHandle, initialDelayMs, fixedRateMs, null);
+    }
+
+    /**
+     * Executes the producer launched by the consumed {@code source} record, which feeds the record template.
+     */
+    public void executeProducer(ProducerHandle producerHandle, Long initialDelayMs, Long fixedRateMs, ConsumerRecord<?, ?> source) throws ClassNotFoundException {
+        if (producerHandle.getProducerProperties().getLoad() != null) {
+            SendChannel sendChannel = getOrCreateChannel(producerHandle.getProducerProperties());
+            producerScheduler.schedule(() -> loadGenerator.start(producerHandle, sendChannel), initialDelayMs);
+            return;
+        }
+        if (producerHandle.getProducerProperties().getReplay() != null) {
+            SendChannel sendChannel = getOrCreateChannel(producerHandle.getProducerProperties());
+            producerScheduler.schedule(() -> replayGenerator.start(producerHandle, sendChannel), initialDelayMs);
+            return;
+        }
+
+        Runnable produceAction = getRunnableProducerAction(producerHandle, Collections.singletonList(source));
         if (fixedRateMs >= 5000) {
-            executorService.scheduleAtFixedRate(produceAction, 0, fixedRateMs, TimeUnit.MILLISECONDS);
+            producerScheduler.scheduleAtFixedRate(produceAction, initialDelayMs, fixedRateMs);
         } else {
-            executorService.execute(produceAction);
+            producerScheduler.schedule(produceAction, initialDelayMs);
+        }
+    }
+
+    /**
+     * Sends one record of the producer per consumed record in {@code sources} from a single scheduled task.
+     */
+    public void executeProducerBatch(ProducerHandle producerHandle, Long initialDelayMs, List<? extends ConsumerRecord<?, ?>> sources) throws ClassNotFoundException {
+        ProducerProperties producerProperties = producerHandle.getProducerProperties();
+        if (producerProperties.getLoad() != null || producerProperties.getReplay() != null) {
+            executeProducer(producerHandle, initialDelayMs, 0L);
+            return;
         }
+
+        producerScheduler.schedule(getRunnableProducerAction(producerHandle, sources), initialDelayMs);
     }
 
+    /**
+     * Replay producers send the recorded bytes as they are, so both serializers just pass the buffers through.
+     */
     public <K, V> Producer<K, V> getOrCreateProducer(ProducerProperties producerProperties) throws ClassNotFoundException {
+        if (producerProperties.getReplay() != null) {
+            return getOrCreateProducer(
+                    producerProperties.getOperationId(),
+                    ByteBufferSerializer.class,
+                    ByteBufferSerializer.class,
+                    kemProducerProperties.getTuning().overrideWith(producerProperties.getTuning()));
+        }
         return getOrCreateProducer(
                 producerProperties.getOperationId(),
-                Class.forName(producerProperties.getKeySerializer()));
+                Class.forName(producerProperties.getKeySerializer()),
+                PayloadMode.SERIALIZED.equals(producerProperties.getPayloadMode()) ? ByteArraySerializer.class : KafkaAvroSerializer.class,
+                kemProducerProperties.getTuning().overrideWith(producerProperties.getTuning()));
     }
 
-    public <K, V> Producer<K, V> getOrCreateProducer(String operationId, Class<?> keySerializer) {
-        if (producerMap.containsKey(operationId)) {
-            return producerMap.get(operationId);
+    public <K, V> Producer<K, V> getOrCreateProducer(String operationId, Class<?> keySerializer, Class<?> valueSerializer, ProducerTuningProperties tuning) {
+        return producerRegistry.getOrCreateProducer(operationId, keySerializer, valueSerializer, tuning);
+    }
+
+    public SendChannel getOrCreateChannel(ProducerProperties producerProperties) throws ClassNotFoundException {
+        SendChannel sendChannel = producerSender.getChannel(producerProperties.getOperationId());
+        if (sendChannel != null) {
+            return sendChannel;
         }
+        return producerSender.getOrCreateChannel(producerProperties, getOrCreateProducer(producerProperties));
+    }
 
-        return createProducer(operationId, keySerializer);
+    private ProducerHandle resolveHandle(ProducerProperties producerProperties) {
+        ProducerHandle producerHandle = globalProperties.getProducerHandles().get(producerProperties.getOperationId());
+        return producerHandle != null ? producerHandle : new ProducerHandle(producerProperties, null);
     }
 
-    private <T> Runnable getRunnableProducerAction(ProducerProperties producerProperties, Long initialDelayMs) throws ClassNotFoundException {
-        Producer kafkaProducer = this.getOrCreateProducer(producerProperties);
+    private Runnable getRunnableProducerAction(ProducerHandle producerHandle, List<? extends ConsumerRecord<?, ?>> sources) throws ClassNotFoundException {
+        ProducerProperties producerProperties = producerHandle.getProducerProperties();
+        SendChannel sendChannel = this.getOrCreateChannel(producerProperties);
 
         return () -> {
-            try {
-                Map<String, Object> object = producerProperties.getRecord();
-                String namespace = object.get("namespace").toString();
-                String name = object.get("name").toString();
-                Thread.sleep(initialDelayMs);
-                ProducerRecord<Object, T> producerRecord = new ProducerRecord<>(producerProperties.getTopic(), null, new Date().getTime(), producerProperties.getKey(), (T) mapToAvroMapper.mapToAvro(namespace, name, object));
-                kafkaProducer.send(producerRecord);
-                logger.info(String.format("[Producer = %s, Send To Topic: %s, Message: %s]", producerProperties.getOperationId(), producerProperties.getTopic(), producerRecord));
-            } catch (Exception e) {
-                logger.error(String.format("Error Sending message on producer. OperationId: %s", producerProperties.getOperationId()), e);
+            for (ConsumerRecord<?, ?> source : sources) {
+                try {
+                    ProducerRecord<Object, Object> producerRecord = producerPayloadResolver.createRecord(producerHandle, sendChannel, source);
+                    boolean sent = sendChannel.send(producerRecord);
+                    if (logger.isDebugEnabled()) {
+                        if (sent) {
+                            logger.debug(String.format("[Producer = %s, Send To Topic: %s, Message: %s]", producerProperties.getOperationId(), producerProperties.getTopic(), producerRecord));
+                        } else {
+                            logger.debug(String.format("[Producer = %s, Dropped Message To Topic: %s, In Flight: %s]", producerProperties.getOperationId(), producerProperties.getTopic(), sendChannel.getInFlight()));
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    // One failing source must not drop the rest of its batch
+                    logger.error(String.format("Error Sending message on producer. OperationId: %s, Source: %s", producerProperties.getOperationId(), describeSource(source)), e);
+                }
             }
         };
     }
 
-    private <K, V> Producer<K, V> createProducer(String operationId, Class<?> keySerializer) {
-        Properties props = new Properties();
-        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG,
-                KEMConstants.BOOTSTRAP_SERVERS);
-        props.put(ProducerConfig.CLIENT_ID_CONFIG, String.format("%s-%s", KEMConstants.APPLICATION_NAME, producerMap.size()));
-        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG,
-                keySerializer);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
-                KafkaAvroSerializer.class);
-        props.put(KEMConstants.SCHEMA_REGISTRY_KEY, KEMConstants.SCHEMA_REGISTRY_VALUE);
-
-        Producer producer = new KafkaProducer<>(props);
-        producerMap.put(operationId, producer);
-
-        return producer;
+    private static String describeSource(ConsumerRecord<?, ?> source) {
+        return source != null ? String.format("%s-%s@%s", source.topic(), source.partition(), source.offset()) : "none";
     }
 }
@@ -0,0 +1,156 @@
+package org.jorgerojasdev.kafkaenvironmentmock.producer;
+
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.errors.RetriableException;
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.InFlightPolicy;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.DeliveryProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous send path of one operation. Each send holds an in-flight permit until its callback runs, so a slow
+ * broker makes new sends block or be dropped (see {@link InFlightPolicy}) instead of piling up in memory.
+ */
+public class SendChannel {
+
+    private final String operationId;
+
+    private final Producer<Object, Object> kafkaProducer;
+
+    private final DeliveryProperties delivery;
+
+    private final ProducerScheduler producerScheduler;
+
+    private final Semaphore inFlight;
+
+    private final Timer sendLatency;
+
+    private final Map<String, Integer> partitionCounts = new ConcurrentHashMap<>();
+
+    private final SendStats sendStats = new SendStats();
+
+    private static final Logger logger = LoggerFactory.getLogger(SendChannel.class);
+
+    SendChannel(String operationId, Producer<Object, Object> kafkaProducer, DeliveryProperties delivery, ProducerScheduler producerScheduler, Timer sendLatency) {
+        this.operationId = operationId;
+        this.kafkaProducer = kafkaProducer;
+        this.delivery = delivery;
+        this.producerScheduler = producerScheduler;
+        this.inFlight = new Semaphore(delivery.getMaxInFlight());
+        this.sendLatency = sendLatency;
+    }
+
+    /**
+     * @return false when the record was dropped because the in-flight cap was reached.
+     */
+    public boolean send(ProducerRecord<Object, Object> producerRecord) throws InterruptedException {
+        if (InFlightPolicy.DROP.equals(delivery.getInFlightPolicy())) {
+            if (!inFlight.tryAcquire()) {
+                sendStats.recordDropped();
+                return false;
+            }
+        } else {
+            inFlight.acquire();
+        }
+
+        try {
+            kafkaProducer.send(producerRecord, new SendCallback(producerRecord));
+        } catch (RuntimeException e) {
+            inFlight.release();
+            sendStats.recordFailed();
+            throw e;
+        }
+        sendStats.recordSent();
+        return true;
+    }
+
+    /**
+     * Partition count of the topic, read from the producer metadata on the first call for the topic.
+     */
+    public int getPartitionCount(String topic) {
+        Integer count = partitionCounts.get(topic);
+        if (count == null) {
+            count = kafkaProducer.partitionsFor(topic).size();
+            if (count == 0) {
+                throw new AutoconfigureKEMException(String.format("Topic %s has no partitions. OperationId: %s", topic, operationId));
+            }
+            partitionCounts.put(topic, count);
+        }
+        return count;
+    }
+
+    public int getInFlight() {
+        return delivery.getMaxInFlight() - inFlight.availablePermits();
+    }
+
+    public SendStats getSendStats() {
+        return sendStats;
+    }
+
+    public void flush() {
+        kafkaProducer.flush();
+    }
+
+    private final class SendCallback implements Callback {
+
+        private final ProducerRecord<Object, Object> producerRecord;
+
+        private final long startNanos = System.nanoTime();
+
+        private int attempts;
+
+        private SendCallback(ProducerRecord<Object, Object> producerRecord) {
+            this.producerRecord = producerRecord;
+        }
+
+        @Override
+        public void onCompletion(RecordMetadata metadata, Exception exception) {
+            if (exception == null) {
+                long latencyNanos = System.nanoTime() - startNanos;
+                sendStats.recordAcknowledged(latencyNanos);
+                sendLatency.record(latencyNanos, TimeUnit.NANOSECONDS);
+                inFlight.release();
+                return;
+            }
+
+            if (exception instanceof RetriableException && attempts < delivery.getSendRetries() && scheduleRetry()) {
+                return;
+            }
+
+            sendStats.recordFailed();
+            inFlight.release();
+            logger.error(String.format("Error Sending message on producer. OperationId: %s, Topic: %s", operationId, producerRecord.topic()), exception);
+        }
+
+        private boolean scheduleRetry() {
+            try {
+                // Never send again from the producer I/O thread: a full buffer would block it.
+                producerScheduler.scheduleRetry(this::retry, delivery.getRetryBackoffMs());
+            } catch (RejectedExecutionException e) {
+                return false;
+            }
+            attempts++;
+            sendStats.recordRetried();
+            return true;
+        }
+
+        private void retry() {
+            try {
+                kafkaProducer.send(producerRecord, this);
+            } catch (Exception e) {
+                onCompletion(null, e);
+            }
+        }
+    }
+}
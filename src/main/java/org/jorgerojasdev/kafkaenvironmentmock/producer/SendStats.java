@@ -0,0 +1,75 @@
+package org.jorgerojasdev.kafkaenvironmentmock.producer;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the sends of one operation, updated from the producer callbacks.
+ */
+public class SendStats {
+
+    private final LongAdder sent = new LongAdder();
+
+    private final LongAdder acknowledged = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder retried = new LongAdder();
+
+    private final LongAdder totalLatencyNanos = new LongAdder();
+
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0L);
+
+    void recordSent() {
+        sent.increment();
+    }
+
+    void recordAcknowledged(long latencyNanos) {
+        acknowledged.increment();
+        totalLatencyNanos.add(latencyNanos);
+        maxLatencyNanos.accumulate(latencyNanos);
+    }
+
+    void recordFailed() {
+        failed.increment();
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    void recordRetried() {
+        retried.increment();
+    }
+
+    public long getSent() {
+        return sent.sum();
+    }
+
+    public long getAcknowledged() {
+        return acknowledged.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getRetried() {
+        return retried.sum();
+    }
+
+    public double getAverageLatencyMs() {
+        long acknowledgedCount = getAcknowledged();
+        return acknowledgedCount == 0L ? 0D : totalLatencyNanos.sum() / 1_000_000D / acknowledgedCount;
+    }
+
+    public double getMaxLatencyMs() {
+        return maxLatencyNanos.get() / 1_000_000D;
+    }
+}
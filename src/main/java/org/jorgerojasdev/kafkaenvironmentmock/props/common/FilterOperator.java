@@ -0,0 +1,5 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.common;
+
+public enum FilterOperator {
+    EQUALS, NOT_EQUALS, IN, RANGE, EXISTS, MATCHES
+}
@@ -0,0 +1,5 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.common;
+
+public enum PartitioningStrategy {
+    DEFAULT, ROUND_ROBIN, STICKY, EXPLICIT
+}
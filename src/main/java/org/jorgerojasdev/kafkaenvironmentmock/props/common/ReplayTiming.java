@@ -0,0 +1,5 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.common;
+
+public enum ReplayTiming {
+    RECORDED, MAX
+}
@@ -0,0 +1,74 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.common;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Producer settings applied together. A null setting is left to the global tuning or to the Kafka default, so
+ * {@code LATENCY} keeps the durability of the Kafka defaults (acks=all, idempotence on) unless it's set explicitly.
+ */
+public enum TuningPreset {
+
+    THROUGHPUT("1", 262144, 20L, "lz4", false),
+    LATENCY(null, 16384, 0L, "none", null);
+
+    private final String acks;
+
+    private final Integer batchSize;
+
+    private final Long lingerMs;
+
+    private final String compressionType;
+
+    private final Boolean enableIdempotence;
+
+    private final Map<String, Object> producerConfig;
+
+    TuningPreset(String acks, Integer batchSize, Long lingerMs, String compressionType, Boolean enableIdempotence) {
+        this.acks = acks;
+        this.batchSize = batchSize;
+        this.lingerMs = lingerMs;
+        this.compressionType = compressionType;
+        this.enableIdempotence = enableIdempotence;
+        Map<String, Object> config = new HashMap<>();
+        putIfNotNull(config, ProducerConfig.ACKS_CONFIG, acks);
+        putIfNotNull(config, ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        putIfNotNull(config, ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        putIfNotNull(config, ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        putIfNotNull(config, ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, enableIdempotence);
+        this.producerConfig = Collections.unmodifiableMap(config);
+    }
+
+    public String getAcks() {
+        return acks;
+    }
+
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public Long getLingerMs() {
+        return lingerMs;
+    }
+
+    public String getCompressionType() {
+        return compressionType;
+    }
+
+    public Boolean getEnableIdempotence() {
+        return enableIdempotence;
+    }
+
+    public Map<String, Object> getProducerConfig() {
+        return producerConfig;
+    }
+
+    private static void putIfNotNull(Map<String, Object> config, String key, Object value) {
+        if (value != null) {
+            config.put(key, value);
+        }
+    }
+}
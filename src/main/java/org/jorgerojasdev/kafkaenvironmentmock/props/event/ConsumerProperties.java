@@ -9,4 +9,11 @@ import java.util.List;
 public class ConsumerProperties extends TopicProperties {
 
     private List<String> launchOperationIds = new ArrayList<>();
+
+    private List<FilterProperties> filters = new ArrayList<>();
+
+    public void validate() {
+        super.validate();
+        filters.forEach(filter -> filter.validate(this.getOperationId()));
+    }
 }
@@ -29,16 +29,20 @@ public class EventProperties {
 
     private Map<String, Object> refs = new HashMap<>();
 
+    private Map<String, TopicSettingsProperties> topicSettings = new HashMap<>();
+
     @PostConstruct
     public void autoConfigure() {
         producers.forEach(this::validateProducer);
         consumers.forEach(this::validate);
+        topicSettings.keySet().forEach(this::validateTopicSettings);
         addGlobalConfig();
     }
 
     private void addGlobalConfig() {
         addGlobalProducers();
         addGlobalConsumers();
+        globalProperties.compileRoutingTable();
     }
 
     private void addGlobalProducers() {
@@ -57,11 +61,36 @@ public class EventProperties {
         }
     }
 
+    private void validateTopicSettings(String topic) {
+        if (!topics.contains(topic)) {
+            throw new AutoconfigureKEMException(String.format("Topic settings: %s must be named on event.topics", topic));
+        }
+        topicSettings.get(topic).validate(topic);
+    }
+
+    public TopicSettingsProperties getTopicSettings(String topic) {
+        return topicSettings.getOrDefault(topic, new TopicSettingsProperties());
+    }
+
     private void validateProducer(ProducerProperties producerProperties) {
         this.validate(producerProperties);
+        this.validatePartitions(producerProperties);
         this.assignRefValue(producerProperties);
     }
 
+    private void validatePartitions(ProducerProperties producerProperties) {
+        TopicSettingsProperties settings = topicSettings.get(producerProperties.getTopic());
+        PartitioningProperties partitioning = producerProperties.getPartitioning();
+        if (settings == null || settings.getPartitions() == null || partitioning == null) {
+            return;
+        }
+        for (Integer partition : partitioning.getPartitions()) {
+            if (partition >= settings.getPartitions()) {
+                throw new AutoconfigureKEMException(String.format("Partition %s doesn't exist on topic: %s, declared with %s partitions. Producer: %s", partition, producerProperties.getTopic(), settings.getPartitions(), producerProperties.getOperationId()));
+            }
+        }
+    }
+
     private void assignRefValue(ProducerProperties producerProperties) {
         String ref = producerProperties.getRef();
 
@@ -0,0 +1,67 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.event;
+
+import lombok.Data;
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.FilterOperator;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.FilterSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class FilterProperties {
+
+    private FilterSource source;
+
+    private String name;
+
+    private String path;
+
+    private FilterOperator operator = FilterOperator.EQUALS;
+
+    private String value;
+
+    private List<String> values = new ArrayList<>();
+
+    private Double min;
+
+    private Double max;
+
+    public void validate(String operationId) {
+        String errorField = resolveErrorField();
+        if (errorField != null) {
+            throw new AutoconfigureKEMException(String.format("Field filters.%s must not be null on consumer: %s", errorField, operationId));
+        }
+    }
+
+    private String resolveErrorField() {
+        if (source == null) {
+            return "source";
+        }
+
+        if (operator == null) {
+            return "operator";
+        }
+
+        if (FilterSource.HEADER.equals(source) && name == null) {
+            return "name";
+        }
+
+        if (FilterSource.FIELD.equals(source) && path == null) {
+            return "path";
+        }
+
+        switch (operator) {
+            case EQUALS:
+            case NOT_EQUALS:
+            case MATCHES:
+                return value == null ? "value" : null;
+            case IN:
+                return values == null || values.isEmpty() ? "values" : null;
+            case RANGE:
+                return min == null && max == null ? "min || max" : null;
+            default:
+                return null;
+        }
+    }
+}
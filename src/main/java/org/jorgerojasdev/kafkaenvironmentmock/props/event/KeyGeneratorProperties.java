@@ -0,0 +1,53 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.event;
+
+import lombok.Data;
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.KeyGeneratorType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class KeyGeneratorProperties {
+
+    private KeyGeneratorType type;
+
+    private String prefix = "";
+
+    private Long start = 0L;
+
+    private Integer poolSize = 1000;
+
+    private List<String> fields = new ArrayList<>();
+
+    public void validate(String operationId) {
+        String errorField = resolveErrorField();
+        if (errorField != null) {
+            throw new AutoconfigureKEMException(String.format("Field keyGenerator.%s is not valid on producer: %s", errorField, operationId));
+        }
+    }
+
+    private String resolveErrorField() {
+        if (type == null) {
+            return "type";
+        }
+
+        if (prefix == null) {
+            return "prefix";
+        }
+
+        if (KeyGeneratorType.SEQUENCE.equals(type) && start == null) {
+            return "start";
+        }
+
+        if (KeyGeneratorType.POOL.equals(type) && (poolSize == null || poolSize < 1)) {
+            return "poolSize";
+        }
+
+        if (KeyGeneratorType.FIELDS.equals(type) && (fields == null || fields.isEmpty())) {
+            return "fields";
+        }
+
+        return null;
+    }
+}
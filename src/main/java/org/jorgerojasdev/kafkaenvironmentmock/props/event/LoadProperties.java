@@ -0,0 +1,53 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.event;
+
+import lombok.Data;
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+
+@Data
+public class LoadProperties {
+
+    private Double messagesPerSecond;
+
+    private Integer burstSize;
+
+    private Long durationMs;
+
+    private Long totalMessages;
+
+    private Long rampUpMs = 0L;
+
+    private Long reportIntervalMs = 5000L;
+
+    public void validate(String operationId) {
+        if (messagesPerSecond == null || messagesPerSecond <= 0) {
+            throw new AutoconfigureKEMException(String.format("Field load.messagesPerSecond must be greater than 0 on producer: %s", operationId));
+        }
+
+        if (burstSize != null && burstSize < 1) {
+            throw new AutoconfigureKEMException(String.format("Field load.burstSize must be greater than 0 on producer: %s", operationId));
+        }
+
+        if (durationMs != null && durationMs <= 0) {
+            throw new AutoconfigureKEMException(String.format("Field load.durationMs must be greater than 0 on producer: %s", operationId));
+        }
+
+        if (totalMessages != null && totalMessages <= 0) {
+            throw new AutoconfigureKEMException(String.format("Field load.totalMessages must be greater than 0 on producer: %s", operationId));
+        }
+
+        if (rampUpMs == null || rampUpMs < 0) {
+            throw new AutoconfigureKEMException(String.format("Field load.rampUpMs must not be null or negative on producer: %s", operationId));
+        }
+
+        if (reportIntervalMs == null || reportIntervalMs <= 0) {
+            throw new AutoconfigureKEMException(String.format("Field load.reportIntervalMs must be greater than 0 on producer: %s", operationId));
+        }
+    }
+
+    public int resolveBurstSize() {
+        if (burstSize != null) {
+            return burstSize;
+        }
+        return (int) Math.max(1, messagesPerSecond / 100);
+    }
+}
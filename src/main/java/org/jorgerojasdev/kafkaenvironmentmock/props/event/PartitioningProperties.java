@@ -0,0 +1,45 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.event;
+
+import lombok.Data;
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.PartitioningStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class PartitioningProperties {
+
+    private PartitioningStrategy strategy = PartitioningStrategy.DEFAULT;
+
+    private List<Integer> partitions = new ArrayList<>();
+
+    private Integer stickyBatchSize = 1000;
+
+    public void validate(String operationId) {
+        String errorField = resolveErrorField();
+        if (errorField != null) {
+            throw new AutoconfigureKEMException(String.format("Field partitioning.%s is not valid on producer: %s", errorField, operationId));
+        }
+    }
+
+    private String resolveErrorField() {
+        if (strategy == null) {
+            return "strategy";
+        }
+
+        if (PartitioningStrategy.EXPLICIT.equals(strategy) && (partitions == null || partitions.isEmpty())) {
+            return "partitions";
+        }
+
+        if (partitions != null && partitions.stream().anyMatch(partition -> partition == null || partition < 0)) {
+            return "partitions";
+        }
+
+        if (PartitioningStrategy.STICKY.equals(strategy) && (stickyBatchSize == null || stickyBatchSize < 1)) {
+            return "stickyBatchSize";
+        }
+
+        return null;
+    }
+}
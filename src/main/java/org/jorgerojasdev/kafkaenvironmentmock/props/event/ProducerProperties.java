@@ -2,8 +2,14 @@ package org.jorgerojasdev.kafkaenvironmentmock.props.event;
 
 import lombok.Data;
 import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.KeyGeneratorType;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.MappingEngine;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.PayloadMode;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.DeliveryProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.ProducerTuningProperties;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Data
@@ -13,18 +19,57 @@ public class ProducerProperties extends TopicProperties {
 
     private String key;
 
+    private KeyGeneratorProperties keyGenerator;
+
+    private PartitioningProperties partitioning;
+
     private Map<String, Object> record = new HashMap<>();
 
+    private Map<String, String> headers = new LinkedHashMap<>();
+
     private Long delayMs = 0L;
 
     private Long fixedScheduleTimeMs = 0L;
 
+    private PayloadMode payloadMode = PayloadMode.DYNAMIC;
+
+    private MappingEngine mappingEngine = MappingEngine.SPECIFIC;
+
+    private LoadProperties load;
+
+    private ReplayProperties replay;
+
+    private ProducerTuningProperties tuning = new ProducerTuningProperties();
+
+    private DeliveryProperties delivery = new DeliveryProperties();
+
     public void validate() {
         super.validate();
-        String errorField = resolveErrorField();
+        String errorField = replay == null ? resolveErrorField() : null;
         if (errorField != null) {
             throw new AutoconfigureKEMException(String.format("Field %s must not be null on producer: %s", errorField, this.getOperationId()));
         }
+        if (load != null) {
+            load.validate(this.getOperationId());
+        }
+        if (replay != null) {
+            if (load != null) {
+                throw new AutoconfigureKEMException(String.format("Fields load and replay can't be used together on producer: %s", this.getOperationId()));
+            }
+            replay.validate(this.getOperationId());
+        }
+        if (keyGenerator != null) {
+            keyGenerator.validate(this.getOperationId());
+            if (KeyGeneratorType.FIELDS.equals(keyGenerator.getType()) && PayloadMode.SERIALIZED.equals(payloadMode)) {
+                throw new AutoconfigureKEMException(String.format("Key generator FIELDS reads the mapped record, it can't be used with payloadMode SERIALIZED on producer: %s", this.getOperationId()));
+            }
+        }
+        if (partitioning != null) {
+            partitioning.validate(this.getOperationId());
+        }
+        if (delivery != null) {
+            delivery.validate(String.format("producer: %s", this.getOperationId()));
+        }
     }
 
     public String getRef() {
@@ -49,6 +94,14 @@ public class ProducerProperties extends TopicProperties {
             return "record";
         }
 
+        if (payloadMode == null) {
+            return "payloadMode";
+        }
+
+        if (mappingEngine == null) {
+            return "mappingEngine";
+        }
+
         if (!record.containsKey("namespace") && record.get("namespace") != null) {
             return "record.namespace";
         }
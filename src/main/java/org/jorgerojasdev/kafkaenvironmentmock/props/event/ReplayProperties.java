@@ -0,0 +1,48 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.event;
+
+import lombok.Data;
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.ReplayTiming;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ReplayProperties {
+
+    private String recording;
+
+    private List<String> topics = new ArrayList<>();
+
+    private ReplayTiming timing = ReplayTiming.RECORDED;
+
+    private Double speed = 1D;
+
+    private Boolean loop = false;
+
+    private Boolean preservePartitions = false;
+
+    private Long reportIntervalMs = 5000L;
+
+    public void validate(String operationId) {
+        if (recording == null) {
+            throw new AutoconfigureKEMException(String.format("Field replay.recording must not be null on producer: %s", operationId));
+        }
+
+        if (timing == null) {
+            throw new AutoconfigureKEMException(String.format("Field replay.timing must not be null on producer: %s", operationId));
+        }
+
+        if (speed == null || speed <= 0) {
+            throw new AutoconfigureKEMException(String.format("Field replay.speed must be greater than 0 on producer: %s", operationId));
+        }
+
+        if (loop == null || preservePartitions == null) {
+            throw new AutoconfigureKEMException(String.format("Fields replay.loop and replay.preservePartitions must not be null on producer: %s", operationId));
+        }
+
+        if (reportIntervalMs == null || reportIntervalMs <= 0) {
+            throw new AutoconfigureKEMException(String.format("Field replay.reportIntervalMs must be greater than 0 on producer: %s", operationId));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.event;
+
+import lombok.Data;
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.ValueFormat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+public class TopicSettingsProperties {
+
+    private Integer concurrency;
+
+    private Boolean batch;
+
+    private ValueFormat valueFormat;
+
+    private Integer partitions;
+
+    private Short replicas;
+
+    private Map<String, String> configs = new HashMap<>();
+
+    public void validate(String topic) {
+        if (partitions != null && partitions < 1) {
+            throw new AutoconfigureKEMException(String.format("Field partitions must be greater than 0 on topic settings: %s", topic));
+        }
+
+        if (replicas != null && replicas < 1) {
+            throw new AutoconfigureKEMException(String.format("Field replicas must be greater than 0 on topic settings: %s", topic));
+        }
+
+        if (concurrency != null && concurrency < 1) {
+            throw new AutoconfigureKEMException(String.format("Field concurrency must be greater than 0 on topic settings: %s", topic));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.global;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.ConsumerProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.routing.RecordPredicate;
+import org.jorgerojasdev.kafkaenvironmentmock.routing.RecordPredicates;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+@Getter
+public class ConsumerRoute {
+
+    private final ConsumerProperties consumerProperties;
+
+    private final ProducerHandle[] producerHandles;
+
+    private final String launchOperationIdsDescription;
+
+    @Getter(AccessLevel.NONE)
+    private final RecordPredicate predicate;
+
+    public ConsumerRoute(ConsumerProperties consumerProperties, ProducerHandle[] producerHandles) {
+        this.consumerProperties = consumerProperties;
+        this.producerHandles = producerHandles;
+        this.launchOperationIdsDescription = Arrays.stream(producerHandles).map(ProducerHandle::getOperationId).collect(Collectors.joining(", "));
+        this.predicate = RecordPredicates.compile(consumerProperties.getFilters());
+    }
+
+    public boolean isFiltered() {
+        return predicate != RecordPredicate.ALWAYS;
+    }
+
+    public boolean matches(ConsumerRecord<?, ?> record) {
+        return predicate.test(record);
+    }
+
+    public String getOperationId() {
+        return consumerProperties.getOperationId();
+    }
+}
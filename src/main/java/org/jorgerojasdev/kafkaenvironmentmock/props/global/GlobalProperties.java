@@ -1,10 +1,18 @@
 package org.jorgerojasdev.kafkaenvironmentmock.props.global;
 
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.jorgerojasdev.kafkaenvironmentmock.mapper.GenericRecordMapper;
+import org.jorgerojasdev.kafkaenvironmentmock.mapper.MapToAvroMapper;
+import org.jorgerojasdev.kafkaenvironmentmock.mapper.RecordPlan;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.MappingEngine;
 import org.jorgerojasdev.kafkaenvironmentmock.props.common.MockType;
 import org.jorgerojasdev.kafkaenvironmentmock.props.event.ConsumerProperties;
 import org.jorgerojasdev.kafkaenvironmentmock.props.event.ProducerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -15,8 +23,15 @@ import java.util.stream.Collectors;
 
 @Component
 @Getter
+@RequiredArgsConstructor
 public class GlobalProperties {
 
+    @Getter(AccessLevel.NONE)
+    private final MapToAvroMapper mapToAvroMapper;
+
+    @Getter(AccessLevel.NONE)
+    private final GenericRecordMapper genericRecordMapper;
+
     private Map<String, MockType> operationIds = new HashMap<>();
 
     private Map<String, ConsumerProperties> consumerPropertiesMap = new HashMap<>();
@@ -25,6 +40,12 @@ public class GlobalProperties {
 
     private List<ProducerProperties> initialProducers = new ArrayList<>();
 
+    private Map<String, ProducerHandle> producerHandles = new HashMap<>();
+
+    private RoutingTable routingTable = new RoutingTable(new HashMap<>());
+
+    private static final Logger logger = LoggerFactory.getLogger(GlobalProperties.class);
+
     public void addProducers(List<ProducerProperties> producers) {
         producers.forEach(producer -> {
             validateOperationId(producer.getOperationId());
@@ -52,6 +73,48 @@ public class GlobalProperties {
 
     }
 
+    /**
+     * Resolves every producer with its mapping plan, record template and keying, and compiles the consumer routes of each topic.
+     */
+    public void compileRoutingTable() {
+        Map<String, ProducerHandle> handles = new HashMap<>();
+        producerPropertiesMap.values().forEach(producer -> handles.put(producer.getOperationId(), createProducerHandle(producer)));
+        initialProducers.forEach(producer -> handles.put(producer.getOperationId(), createProducerHandle(producer)));
+
+        Map<String, List<ConsumerRoute>> routes = new HashMap<>();
+        consumerPropertiesMap.values().forEach(consumer -> {
+            ProducerHandle[] consumerProducers = consumer.getLaunchOperationIds().stream()
+                    .filter(launchOperationId -> MockType.PRODUCER.equals(operationIds.get(launchOperationId)))
+                    .map(handles::get)
+                    .toArray(ProducerHandle[]::new);
+            routes.computeIfAbsent(consumer.getTopic(), topic -> new ArrayList<>()).add(new ConsumerRoute(consumer, consumerProducers));
+        });
+
+        producerHandles = Map.copyOf(handles);
+        routingTable = new RoutingTable(routes.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().toArray(new ConsumerRoute[0]))));
+    }
+
+    private ProducerHandle createProducerHandle(ProducerProperties producer) {
+        if (producer.getReplay() != null) {
+            return new ProducerHandle(producer, null);
+        }
+        Map<String, Object> record = producer.getRecord();
+        String namespace = String.valueOf(record.get("namespace"));
+        String name = String.valueOf(record.get("name"));
+        if (MappingEngine.GENERIC.equals(producer.getMappingEngine())) {
+            return new ProducerHandle(producer, genericRecordMapper.getPlan(namespace, name));
+        }
+
+        RecordPlan recordPlan = null;
+        try {
+            recordPlan = mapToAvroMapper.getPlan(namespace, name);
+        } catch (Exception e) {
+            logger.warn(String.format("Mapping plan not available at startup for producer: %s, it will be resolved on send. Cause: %s", producer.getOperationId(), e));
+        }
+        return new ProducerHandle(producer, recordPlan);
+    }
+
     private void validateOperationId(String operationId) {
         if (operationIds.containsKey(operationId)) {
             throw new AutoconfigureKEMException(String.format("OperationId duplicated: %s", operationId));
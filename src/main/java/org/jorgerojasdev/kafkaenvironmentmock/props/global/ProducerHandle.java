@@ -0,0 +1,42 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.global;
+
+import lombok.Getter;
+import org.jorgerojasdev.kafkaenvironmentmock.mapper.RecordPlan;
+import org.jorgerojasdev.kafkaenvironmentmock.partitioning.KeyGenerator;
+import org.jorgerojasdev.kafkaenvironmentmock.partitioning.KeyGenerators;
+import org.jorgerojasdev.kafkaenvironmentmock.partitioning.PartitionSelector;
+import org.jorgerojasdev.kafkaenvironmentmock.partitioning.PartitionSelectors;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.ProducerProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.template.RecordTemplate;
+
+/**
+ * Producer resolved at startup, with the mapping plan of its record already attached. The plan of a
+ * {@code SPECIFIC} producer is null when the Avro class couldn't be resolved at startup, and then the record is
+ * mapped through {@code MapToAvroMapper} on send. The template is null when the record doesn't derive anything from
+ * the consumed record, and the key generator is null when the producer sends its constant key.
+ */
+@Getter
+public class ProducerHandle {
+
+    private final ProducerProperties producerProperties;
+
+    private final RecordPlan recordPlan;
+
+    private final RecordTemplate recordTemplate;
+
+    private final KeyGenerator keyGenerator;
+
+    private final PartitionSelector partitionSelector;
+
+    public ProducerHandle(ProducerProperties producerProperties, RecordPlan recordPlan) {
+        this.producerProperties = producerProperties;
+        this.recordPlan = recordPlan;
+        this.recordTemplate = RecordTemplate.compile(producerProperties);
+        this.keyGenerator = KeyGenerators.compile(producerProperties.getKeyGenerator());
+        this.partitionSelector = PartitionSelectors.compile(producerProperties.getPartitioning());
+    }
+
+    public String getOperationId() {
+        return producerProperties.getOperationId();
+    }
+}
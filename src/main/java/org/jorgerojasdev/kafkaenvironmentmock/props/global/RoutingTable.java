@@ -0,0 +1,60 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.global;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable topic to consumer routes table, compiled once by {@link GlobalProperties} so that a consumed record only
+ * costs one lookup. Topics whose routes have no filters return their compiled routes as they are, so they don't
+ * allocate anything per record.
+ */
+public final class RoutingTable {
+
+    private static final ConsumerRoute[] NO_ROUTES = new ConsumerRoute[0];
+
+    private final Map<String, TopicRoutes> routesByTopic;
+
+    RoutingTable(Map<String, ConsumerRoute[]> routesByTopic) {
+        Map<String, TopicRoutes> topicRoutes = new HashMap<>();
+        routesByTopic.forEach((topic, routes) -> topicRoutes.put(topic, new TopicRoutes(routes)));
+        this.routesByTopic = Map.copyOf(topicRoutes);
+    }
+
+    /**
+     * Routes of the record topic whose filters match the record.
+     */
+    public ConsumerRoute[] getMatchingRoutes(ConsumerRecord<?, ?> record) {
+        TopicRoutes topicRoutes = routesByTopic.get(record.topic());
+        if (topicRoutes == null) {
+            return NO_ROUTES;
+        }
+        ConsumerRoute[] routes = topicRoutes.routes;
+        if (!topicRoutes.filtered) {
+            return routes;
+        }
+
+        int matched = 0;
+        ConsumerRoute[] matchedRoutes = new ConsumerRoute[routes.length];
+        for (ConsumerRoute route : routes) {
+            if (route.matches(record)) {
+                matchedRoutes[matched++] = route;
+            }
+        }
+        return matched == routes.length ? routes : Arrays.copyOf(matchedRoutes, matched);
+    }
+
+    private static final class TopicRoutes {
+
+        private final ConsumerRoute[] routes;
+
+        private final boolean filtered;
+
+        private TopicRoutes(ConsumerRoute[] routes) {
+            this.routes = routes;
+            this.filtered = Arrays.stream(routes).anyMatch(ConsumerRoute::isFiltered);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.kem;
+
+import lombok.Data;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka consumer fetch settings. Fields left empty keep the value of {@code spring.kafka.consumer.*}, or the client
+ * default.
+ */
+@Data
+public class ConsumerTuningProperties {
+
+    private Integer fetchMinBytes;
+
+    private Integer fetchMaxWaitMs;
+
+    private Integer maxPollRecords;
+
+    public Map<String, Object> toConsumerConfig() {
+        Map<String, Object> consumerConfig = new HashMap<>();
+        putIfNotNull(consumerConfig, ConsumerConfig.FETCH_MIN_BYTES_CONFIG, fetchMinBytes);
+        putIfNotNull(consumerConfig, ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, fetchMaxWaitMs);
+        putIfNotNull(consumerConfig, ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        return consumerConfig;
+    }
+
+    private static void putIfNotNull(Map<String, Object> consumerConfig, String key, Object value) {
+        if (value != null) {
+            consumerConfig.put(key, value);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.kem;
+
+import lombok.Data;
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.InFlightPolicy;
+
+/**
+ * Limits of the asynchronous send pipeline: how many sends of a producer may wait for their acknowledgement, what to
+ * do when that cap is reached and how many times a retriable failure is sent again.
+ */
+@Data
+public class DeliveryProperties {
+
+    private Integer maxInFlight;
+
+    private InFlightPolicy inFlightPolicy;
+
+    private Integer sendRetries;
+
+    private Long retryBackoffMs;
+
+    public DeliveryProperties overrideWith(DeliveryProperties overrides) {
+        DeliveryProperties merged = new DeliveryProperties();
+        merged.setMaxInFlight(overrides.getMaxInFlight() != null ? overrides.getMaxInFlight() : maxInFlight);
+        merged.setInFlightPolicy(overrides.getInFlightPolicy() != null ? overrides.getInFlightPolicy() : inFlightPolicy);
+        merged.setSendRetries(overrides.getSendRetries() != null ? overrides.getSendRetries() : sendRetries);
+        merged.setRetryBackoffMs(overrides.getRetryBackoffMs() != null ? overrides.getRetryBackoffMs() : retryBackoffMs);
+        return merged;
+    }
+
+    /**
+     * Checks the fields that are set, so it applies both to the global defaults and to the overrides of a producer.
+     */
+    public void validate(String location) {
+        if (maxInFlight != null && maxInFlight < 1) {
+            throw new AutoconfigureKEMException(String.format("Field delivery.maxInFlight must be at least 1 on %s", location));
+        }
+
+        if (sendRetries != null && sendRetries < 0) {
+            throw new AutoconfigureKEMException(String.format("Field delivery.sendRetries must not be negative on %s", location));
+        }
+
+        if (retryBackoffMs != null && retryBackoffMs < 0) {
+            throw new AutoconfigureKEMException(String.format("Field delivery.retryBackoffMs must not be negative on %s", location));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.kem;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "kem.embedded")
+@Data
+public class EmbeddedKafkaProperties {
+
+    public static final String PROFILE = "embedded";
+
+    private Integer brokers = 1;
+
+    private Integer port = 0;
+
+    private Map<String, String> brokerProperties = new HashMap<>();
+}
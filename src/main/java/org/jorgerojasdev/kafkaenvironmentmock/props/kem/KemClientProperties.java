@@ -0,0 +1,34 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.kem;
+
+import lombok.Data;
+import org.apache.kafka.clients.CommonClientConfigs;
+import org.jorgerojasdev.kafkaenvironmentmock.constants.KEMConstants;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings shared by the producers and consumers of KEM. Connection and security come from {@code spring.kafka.*}.
+ */
+@ConfigurationProperties(prefix = "kem.client")
+@Data
+public class KemClientProperties {
+
+    private String clientIdPrefix = KEMConstants.APPLICATION_NAME;
+
+    private Integer sendBufferBytes;
+
+    private Integer receiveBufferBytes;
+
+    public Map<String, Object> toClientConfig() {
+        Map<String, Object> clientConfig = new HashMap<>();
+        if (sendBufferBytes != null) {
+            clientConfig.put(CommonClientConfigs.SEND_BUFFER_CONFIG, sendBufferBytes);
+        }
+        if (receiveBufferBytes != null) {
+            clientConfig.put(CommonClientConfigs.RECEIVE_BUFFER_CONFIG, receiveBufferBytes);
+        }
+        return clientConfig;
+    }
+}
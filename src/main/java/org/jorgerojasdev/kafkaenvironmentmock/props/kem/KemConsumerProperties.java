@@ -0,0 +1,42 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.kem;
+
+import lombok.Data;
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.DispatchOrdering;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.ValueFormat;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "kem.consumer")
+@Data
+public class KemConsumerProperties {
+
+    private String groupId = "mytopicconsumer";
+
+    private Integer concurrency = 1;
+
+    private Boolean batch = false;
+
+    private Integer dispatchThreads = 4;
+
+    private Integer dispatchQueueCapacity = 10000;
+
+    private DispatchOrdering dispatchOrdering = DispatchOrdering.KEY;
+
+    private ValueFormat valueFormat = ValueFormat.AVRO;
+
+    private ConsumerTuningProperties tuning = new ConsumerTuningProperties();
+
+    public void validate() {
+        if (concurrency == null || concurrency < 1) {
+            throw new AutoconfigureKEMException("Field kem.consumer.concurrency must be greater than 0");
+        }
+
+        if (dispatchThreads == null || dispatchThreads < 1) {
+            throw new AutoconfigureKEMException("Field kem.consumer.dispatch-threads must be greater than 0");
+        }
+
+        if (dispatchQueueCapacity == null || dispatchQueueCapacity < 1) {
+            throw new AutoconfigureKEMException("Field kem.consumer.dispatch-queue-capacity must be greater than 0");
+        }
+    }
+}
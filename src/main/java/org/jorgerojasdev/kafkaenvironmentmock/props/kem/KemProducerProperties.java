@@ -0,0 +1,30 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.kem;
+
+import lombok.Data;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.InFlightPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "kem.producer")
+@Data
+public class KemProducerProperties {
+
+    private ProducerTuningProperties tuning = new ProducerTuningProperties();
+
+    private DeliveryProperties delivery = defaultDelivery();
+
+    private Long initialDelayMs = 3000L;
+
+    private List<String> schemaLocations = new ArrayList<>(List.of("classpath*:avro/**/*.avsc"));
+
+    private static DeliveryProperties defaultDelivery() {
+        DeliveryProperties delivery = new DeliveryProperties();
+        delivery.setMaxInFlight(10000);
+        delivery.setInFlightPolicy(InFlightPolicy.BLOCK);
+        delivery.setSendRetries(0);
+        delivery.setRetryBackoffMs(100L);
+        return delivery;
+    }
+}
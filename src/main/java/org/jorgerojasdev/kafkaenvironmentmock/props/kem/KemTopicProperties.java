@@ -0,0 +1,15 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.kem;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "kem.topic")
+@Data
+public class KemTopicProperties {
+
+    private Long readinessTimeoutMs = 60000L;
+
+    private Long readinessInitialBackoffMs = 100L;
+
+    private Long readinessMaxBackoffMs = 5000L;
+}
@@ -0,0 +1,97 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.kem;
+
+import lombok.Data;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.TuningPreset;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka producer settings, where every explicit field overrides the preset. When the tuning of a producer is merged
+ * over the global one, the layers are applied in this order, each overriding the previous: the global preset, the
+ * global fields, the producer preset and the producer fields.
+ */
+@Data
+public class ProducerTuningProperties {
+
+    private TuningPreset preset;
+
+    private String acks;
+
+    private Integer batchSize;
+
+    private Long lingerMs;
+
+    private String compressionType;
+
+    private Boolean enableIdempotence;
+
+    private Long bufferMemory;
+
+    private Integer maxInFlightRequestsPerConnection;
+
+    public ProducerTuningProperties overrideWith(ProducerTuningProperties overrides) {
+        return new ProducerTuningProperties()
+                .withPreset(preset)
+                .withFields(this)
+                .withPreset(overrides.getPreset())
+                .withFields(overrides);
+    }
+
+    public Map<String, Object> toProducerConfig() {
+        Map<String, Object> producerConfig = new HashMap<>();
+        if (preset != null) {
+            producerConfig.putAll(preset.getProducerConfig());
+        }
+        putIfNotNull(producerConfig, ProducerConfig.ACKS_CONFIG, acks);
+        putIfNotNull(producerConfig, ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        putIfNotNull(producerConfig, ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        putIfNotNull(producerConfig, ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        putIfNotNull(producerConfig, ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, enableIdempotence);
+        putIfNotNull(producerConfig, ProducerConfig.BUFFER_MEMORY_CONFIG, bufferMemory);
+        putIfNotNull(producerConfig, ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, maxInFlightRequestsPerConnection);
+        return producerConfig;
+    }
+
+    /**
+     * @return a copy without preset, where the non-null settings of the preset override the fields of this one
+     */
+    private ProducerTuningProperties withPreset(TuningPreset tuningPreset) {
+        ProducerTuningProperties applied = withFields(new ProducerTuningProperties());
+        if (tuningPreset == null) {
+            return applied;
+        }
+        applied.setAcks(pick(tuningPreset.getAcks(), acks));
+        applied.setBatchSize(pick(tuningPreset.getBatchSize(), batchSize));
+        applied.setLingerMs(pick(tuningPreset.getLingerMs(), lingerMs));
+        applied.setCompressionType(pick(tuningPreset.getCompressionType(), compressionType));
+        applied.setEnableIdempotence(pick(tuningPreset.getEnableIdempotence(), enableIdempotence));
+        return applied;
+    }
+
+    /**
+     * @return a copy without preset, where the non-null fields of the overrides override the fields of this one
+     */
+    private ProducerTuningProperties withFields(ProducerTuningProperties overrides) {
+        ProducerTuningProperties applied = new ProducerTuningProperties();
+        applied.setAcks(pick(overrides.getAcks(), acks));
+        applied.setBatchSize(pick(overrides.getBatchSize(), batchSize));
+        applied.setLingerMs(pick(overrides.getLingerMs(), lingerMs));
+        applied.setCompressionType(pick(overrides.getCompressionType(), compressionType));
+        applied.setEnableIdempotence(pick(overrides.getEnableIdempotence(), enableIdempotence));
+        applied.setBufferMemory(pick(overrides.getBufferMemory(), bufferMemory));
+        applied.setMaxInFlightRequestsPerConnection(pick(overrides.getMaxInFlightRequestsPerConnection(), maxInFlightRequestsPerConnection));
+        return applied;
+    }
+
+    private static <T> T pick(T override, T value) {
+        return override != null ? override : value;
+    }
+
+    private static void putIfNotNull(Map<String, Object> producerConfig, String key, Object value) {
+        if (value != null) {
+            producerConfig.put(key, value);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.kem;
+
+import lombok.Data;
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "kem.recorder")
+@Data
+public class RecorderProperties {
+
+    private static final int MIN_SEGMENT_SIZE_BYTES = 64 * 1024;
+
+    private String directory = "recordings";
+
+    private Integer segmentSizeBytes = 128 * 1024 * 1024;
+
+    private List<RecordingProperties> recordings = new ArrayList<>();
+
+    public void validate() {
+        if (directory == null) {
+            throw new AutoconfigureKEMException("Field kem.recorder.directory must not be null");
+        }
+
+        if (segmentSizeBytes == null || segmentSizeBytes < MIN_SEGMENT_SIZE_BYTES) {
+            throw new AutoconfigureKEMException(String.format("Field kem.recorder.segment-size-bytes must be at least %s", MIN_SEGMENT_SIZE_BYTES));
+        }
+
+        for (RecordingProperties recording : recordings) {
+            recording.validate();
+        }
+    }
+
+    public Path resolveDirectory(String recording) {
+        return Paths.get(directory).resolve(recording);
+    }
+}
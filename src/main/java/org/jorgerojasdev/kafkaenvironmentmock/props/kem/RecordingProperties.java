@@ -0,0 +1,25 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.kem;
+
+import lombok.Data;
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class RecordingProperties {
+
+    private String name;
+
+    private List<String> topics = new ArrayList<>();
+
+    public void validate() {
+        if (name == null) {
+            throw new AutoconfigureKEMException("Field kem.recorder.recordings.name must not be null");
+        }
+
+        if (topics == null || topics.isEmpty()) {
+            throw new AutoconfigureKEMException(String.format("Field topics must not be empty on recording: %s", name));
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.kem;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "kem.scheduler")
+@Data
+public class SchedulerProperties {
+
+    private Integer poolSize = 4;
+
+    private Long shutdownTimeoutMs = 5000L;
+}
@@ -0,0 +1,24 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.kem;
+
+import lombok.Data;
+import org.jorgerojasdev.kafkaenvironmentmock.constants.KEMConstants;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.SchemaRegistryMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "kem.schema-registry")
+@Data
+public class SchemaRegistryProperties {
+
+    private String url = KEMConstants.SCHEMA_REGISTRY_VALUE;
+
+    private SchemaRegistryMode mode = SchemaRegistryMode.REMOTE;
+
+    private Integer cacheCapacity = 1000;
+
+    private Boolean preload = true;
+
+    private Map<String, String> properties = new HashMap<>();
+}
@@ -0,0 +1,51 @@
+package org.jorgerojasdev.kafkaenvironmentmock.recording;
+
+import lombok.RequiredArgsConstructor;
+import org.jorgerojasdev.kafkaenvironmentmock.producer.SendChannel;
+import org.jorgerojasdev.kafkaenvironmentmock.props.global.ProducerHandle;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.RecorderProperties;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the producers configured with {@code replay}, each one on its own thread, like the load runs, so that waiting
+ * for the recorded timing never holds the shared producer scheduler.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReplayGenerator {
+
+    private final RecorderProperties recorderProperties;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(new CustomizableThreadFactory("kem-replay-"));
+
+    private final Map<String, ReplayRun> replayRuns = new ConcurrentHashMap<>();
+
+    public ReplayRun start(ProducerHandle producerHandle, SendChannel sendChannel) {
+        String recording = producerHandle.getProducerProperties().getReplay().getRecording();
+        ReplayRun replayRun = new ReplayRun(producerHandle, sendChannel, recorderProperties.resolveDirectory(recording));
+        ReplayRun previousRun = replayRuns.put(producerHandle.getOperationId(), replayRun);
+        if (previousRun != null) {
+            previousRun.stop();
+        }
+        executor.execute(replayRun);
+        return replayRun;
+    }
+
+    public Map<String, ReplayRun> getReplayRuns() {
+        return Collections.unmodifiableMap(replayRuns);
+    }
+
+    @PreDestroy
+    private void stop() {
+        replayRuns.values().forEach(ReplayRun::stop);
+        executor.shutdownNow();
+    }
+}
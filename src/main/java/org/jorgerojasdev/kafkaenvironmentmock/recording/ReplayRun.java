@@ -0,0 +1,133 @@
+package org.jorgerojasdev.kafkaenvironmentmock.recording;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.jorgerojasdev.kafkaenvironmentmock.producer.SendChannel;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.ReplayTiming;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.ProducerProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.ReplayProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.global.ProducerHandle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the records of a recording to the producer topic, keeping the gaps between their timestamps divided by
+ * {@link ReplayProperties#getSpeed()}, or as fast as the send channel allows with {@link ReplayTiming#MAX}. Keys,
+ * values and headers are sent as recorded.
+ */
+public class ReplayRun implements Runnable {
+
+    private final ProducerHandle producerHandle;
+
+    private final ProducerProperties producerProperties;
+
+    private final ReplayProperties replayProperties;
+
+    private final SendChannel sendChannel;
+
+    private final Path directory;
+
+    private volatile boolean running = true;
+
+    private volatile long sent;
+
+    private long nextReportNanos;
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplayRun.class);
+
+    ReplayRun(ProducerHandle producerHandle, SendChannel sendChannel, Path directory) {
+        this.producerHandle = producerHandle;
+        this.producerProperties = producerHandle.getProducerProperties();
+        this.replayProperties = producerProperties.getReplay();
+        this.sendChannel = sendChannel;
+        this.directory = directory;
+    }
+
+    @Override
+    public void run() {
+        long reportIntervalNanos = TimeUnit.MILLISECONDS.toNanos(replayProperties.getReportIntervalMs());
+        nextReportNanos = System.nanoTime() + reportIntervalNanos;
+        logger.info(String.format("[Replay = %s, Started On Topic: %s, Recording: %s, Timing: %s, Speed: %s]", producerProperties.getOperationId(), producerProperties.getTopic(), directory, replayProperties.getTiming(), replayProperties.getSpeed()));
+
+        try {
+            do {
+                long replayed = replayOnce(reportIntervalNanos);
+                if (replayed == 0L) {
+                    logger.warn(String.format("[Replay = %s, No records to replay in recording: %s]", producerProperties.getOperationId(), directory));
+                    break;
+                }
+            } while (running && replayProperties.getLoop());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error(String.format("Error replaying recording. OperationId: %s", producerProperties.getOperationId()), e);
+        } finally {
+            sendChannel.flush();
+            running = false;
+            logger.info(describe("Finished"));
+        }
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getSent() {
+        return sent;
+    }
+
+    private long replayOnce(long reportIntervalNanos) throws Exception {
+        Set<String> topics = new HashSet<>(replayProperties.getTopics());
+        boolean recordedTiming = ReplayTiming.RECORDED.equals(replayProperties.getTiming());
+        double speed = replayProperties.getSpeed();
+        String topic = producerProperties.getTopic();
+        SegmentReader reader = new SegmentReader(directory);
+        long startNanos = System.nanoTime();
+        long firstTimestamp = -1L;
+        long replayed = 0L;
+
+        while (running && reader.next()) {
+            if (!topics.isEmpty() && !topics.contains(reader.getTopic())) {
+                continue;
+            }
+            if (recordedTiming) {
+                if (firstTimestamp < 0L) {
+                    firstTimestamp = reader.getTimestamp();
+                }
+                long waitNanos = startNanos + (long) (TimeUnit.MILLISECONDS.toNanos(reader.getTimestamp() - firstTimestamp) / speed) - System.nanoTime();
+                if (waitNanos > 0L) {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                }
+            }
+
+            sendChannel.send(new ProducerRecord<>(topic, resolvePartition(topic, reader.getPartition()), System.currentTimeMillis(), reader.getKey(), reader.getValue(), reader.getHeaders()));
+            replayed++;
+            sent++;
+            long now = System.nanoTime();
+            if (now - nextReportNanos >= 0) {
+                nextReportNanos = now + reportIntervalNanos;
+                logger.info(describe("Running"));
+            }
+        }
+        return replayed;
+    }
+
+    private Integer resolvePartition(String topic, int recordedPartition) {
+        if (replayProperties.getPreservePartitions() && recordedPartition < sendChannel.getPartitionCount(topic)) {
+            return recordedPartition;
+        }
+        return producerHandle.getPartitionSelector().nextPartition(() -> sendChannel.getPartitionCount(topic));
+    }
+
+    private String describe(String state) {
+        return String.format("[Replay = %s, %s, Sent: %s, Acknowledged: %s, Failed: %s, Dropped: %s]", producerProperties.getOperationId(), state, getSent(), sendChannel.getSendStats().getAcknowledged(), sendChannel.getSendStats().getFailed(), sendChannel.getSendStats().getDropped());
+    }
+}
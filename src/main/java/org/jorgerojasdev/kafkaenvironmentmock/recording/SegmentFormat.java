@@ -0,0 +1,64 @@
+package org.jorgerojasdev.kafkaenvironmentmock.recording;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Layout of a recording: a directory of append-only segment files named by their sequence number. A segment starts
+ * with a magic number and a version, followed by the records:
+ * <pre>
+ * int   size of the rest of the record (0 ends the segment)
+ * long  timestamp
+ * int   partition
+ * short topic length, topic (UTF-8)
+ * int   key length (-1 for null), key
+ * int   value length (-1 for null), value
+ * short header count, and per header: short key length, key (UTF-8), int value length (-1 for null), value
+ * </pre>
+ * The size of a record is written after the rest of it, so a reader of a segment being written stops at the first
+ * record not complete yet, which still reads as the end of the segment.
+ */
+final class SegmentFormat {
+
+    static final int MAGIC = 0x4B454D52;
+
+    static final int VERSION = 1;
+
+    static final int SEGMENT_HEADER_SIZE = Integer.BYTES * 2;
+
+    static final int END_OF_SEGMENT = 0;
+
+    static final int NULL_LENGTH = -1;
+
+    static final String SEGMENT_SUFFIX = ".kemseg";
+
+    private SegmentFormat() {
+    }
+
+    static String segmentFileName(long sequence) {
+        return String.format("%020d%s", sequence, SEGMENT_SUFFIX);
+    }
+
+    static long segmentSequence(Path segment) {
+        String fileName = segment.getFileName().toString();
+        return Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * @return the segments of the recording in write order, empty when the directory doesn't exist
+     */
+    static List<Path> listSegments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
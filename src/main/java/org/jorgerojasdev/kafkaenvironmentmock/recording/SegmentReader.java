@@ -0,0 +1,151 @@
+package org.jorgerojasdev.kafkaenvironmentmock.recording;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Cursor over the records of a recording. Segments are mapped read-only and key and value are returned as slices of
+ * the mapping, so record bytes are never copied to the heap before the producer serializes them. The accessors
+ * describe the record of the last successful {@link #next()}.
+ */
+class SegmentReader {
+
+    private final Iterator<Path> segments;
+
+    private final Map<ByteBuffer, String> topics = new HashMap<>();
+
+    private MappedByteBuffer segment;
+
+    private long timestamp;
+
+    private int partition;
+
+    private String topic;
+
+    private ByteBuffer key;
+
+    private ByteBuffer value;
+
+    private Headers headers;
+
+    SegmentReader(Path directory) throws IOException {
+        this.segments = SegmentFormat.listSegments(directory).iterator();
+    }
+
+    boolean next() throws IOException {
+        while (segment == null || !hasRecord()) {
+            if (!segments.hasNext()) {
+                return false;
+            }
+            segment = map(segments.next());
+        }
+
+        segment.getInt();
+        timestamp = segment.getLong();
+        partition = segment.getInt();
+        topic = readTopic();
+        key = readBytes();
+        value = readBytes();
+        headers = readHeaders();
+        return true;
+    }
+
+    long getTimestamp() {
+        return timestamp;
+    }
+
+    int getPartition() {
+        return partition;
+    }
+
+    String getTopic() {
+        return topic;
+    }
+
+    ByteBuffer getKey() {
+        return key;
+    }
+
+    ByteBuffer getValue() {
+        return value;
+    }
+
+    Headers getHeaders() {
+        return headers;
+    }
+
+    private boolean hasRecord() {
+        if (segment.remaining() < Integer.BYTES) {
+            return false;
+        }
+        int size = segment.getInt(segment.position());
+        return size > SegmentFormat.END_OF_SEGMENT && size <= segment.remaining() - Integer.BYTES;
+    }
+
+    private String readTopic() {
+        ByteBuffer topicBytes = slice(segment.getShort());
+        String topicName = topics.get(topicBytes);
+        if (topicName == null) {
+            topicName = StandardCharsets.UTF_8.decode(topicBytes.duplicate()).toString();
+            topics.put(topicBytes, topicName);
+        }
+        return topicName;
+    }
+
+    private ByteBuffer readBytes() {
+        int length = segment.getInt();
+        return length == SegmentFormat.NULL_LENGTH ? null : slice(length);
+    }
+
+    private Headers readHeaders() {
+        short count = segment.getShort();
+        if (count == 0) {
+            return null;
+        }
+        RecordHeaders recordHeaders = new RecordHeaders();
+        for (int i = 0; i < count; i++) {
+            String headerKey = StandardCharsets.UTF_8.decode(slice(segment.getShort())).toString();
+            ByteBuffer headerValue = readBytes();
+            byte[] headerBytes = null;
+            if (headerValue != null) {
+                headerBytes = new byte[headerValue.remaining()];
+                headerValue.get(headerBytes);
+            }
+            recordHeaders.add(headerKey, headerBytes);
+        }
+        return recordHeaders;
+    }
+
+    private ByteBuffer slice(int length) {
+        ByteBuffer slice = segment.slice();
+        slice.limit(length);
+        segment.position(segment.position() + length);
+        return slice;
+    }
+
+    private static MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.remaining() < SegmentFormat.SEGMENT_HEADER_SIZE || mapped.getInt() != SegmentFormat.MAGIC) {
+                throw new AutoconfigureKEMException(String.format("Not a recording segment: %s", file));
+            }
+            int version = mapped.getInt();
+            if (version != SegmentFormat.VERSION) {
+                throw new AutoconfigureKEMException(String.format("Unsupported recording segment version %s: %s", version, file));
+            }
+            return mapped;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package org.jorgerojasdev.kafkaenvironmentmock.recording;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends consumed records to memory-mapped segments of {@code segmentSizeBytes}, see {@link SegmentFormat}. A full
+ * segment is forced to disk and a new one is started after it. Segments are never truncated: a replay of a live
+ * recording may have them mapped, and reading past a shrunk file fails with a bus error. Their unwritten tail stays
+ * zero, which ends the segment, and takes no disk space on file systems with sparse files. Records that can't fit in
+ * an empty segment or in the short lengths of the format are skipped and counted. Not thread safe, every recording has
+ * its own writer on a single listener thread.
+ */
+class SegmentWriter implements Closeable {
+
+    private final Path directory;
+
+    private final int segmentSizeBytes;
+
+    private final Map<String, byte[]> topicBytes = new HashMap<>();
+
+    private long nextSequence;
+
+    private FileChannel channel;
+
+    private MappedByteBuffer segment;
+
+    private long records;
+
+    private long bytes;
+
+    private long skipped;
+
+
+    SegmentWriter(Path directory, int segmentSizeBytes) throws IOException {
+        this.directory = directory;
+        this.segmentSizeBytes = segmentSizeBytes;
+        Files.createDirectories(directory);
+        List<Path> segments = SegmentFormat.listSegments(directory);
+        this.nextSequence = segments.isEmpty() ? 0L : SegmentFormat.segmentSequence(segments.get(segments.size() - 1)) + 1;
+    }
+
+    /**
+     * @return false when the record is skipped because it's larger than a segment, or its topic, header count or a
+     * header key doesn't fit in a short
+     */
+    boolean append(ConsumerRecord<byte[], byte[]> record) throws IOException {
+        byte[] topic = topicBytes.computeIfAbsent(record.topic(), name -> name.getBytes(StandardCharsets.UTF_8));
+        Header[] headers = record.headers().toArray();
+        byte[][] headerKeys = new byte[headers.length][];
+        boolean fitsShortLengths = topic.length <= Short.MAX_VALUE && headers.length <= Short.MAX_VALUE;
+        for (int i = 0; i < headers.length; i++) {
+            headerKeys[i] = headers[i].key().getBytes(StandardCharsets.UTF_8);
+            fitsShortLengths &= headerKeys[i].length <= Short.MAX_VALUE;
+        }
+        long size = recordSize(topic, record.key(), record.value(), headers, headerKeys);
+        if (!fitsShortLengths || SegmentFormat.SEGMENT_HEADER_SIZE + Integer.BYTES + size + Integer.BYTES > segmentSizeBytes) {
+            skipped++;
+            return false;
+        }
+        if (segment == null || segment.remaining() < Integer.BYTES + size + Integer.BYTES) {
+            roll();
+        }
+
+        int start = segment.position();
+        segment.position(start + Integer.BYTES);
+        segment.putLong(record.timestamp());
+        segment.putInt(record.partition());
+        segment.putShort((short) topic.length);
+        segment.put(topic);
+        putBytes(record.key());
+        putBytes(record.value());
+        segment.putShort((short) headers.length);
+        for (int i = 0; i < headers.length; i++) {
+            segment.putShort((short) headerKeys[i].length);
+            segment.put(headerKeys[i]);
+            putBytes(headers[i].value());
+        }
+        segment.putInt(start, (int) size);
+        records++;
+        bytes += Integer.BYTES + size;
+        return true;
+    }
+
+    long getRecords() {
+        return records;
+    }
+
+    long getBytes() {
+        return bytes;
+    }
+
+    long getSkipped() {
+        return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finishSegment();
+    }
+
+    private void roll() throws IOException {
+        finishSegment();
+        Path file = directory.resolve(SegmentFormat.segmentFileName(nextSequence++));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSizeBytes);
+        segment.putInt(SegmentFormat.MAGIC);
+        segment.putInt(SegmentFormat.VERSION);
+    }
+
+    private void finishSegment() throws IOException {
+        if (segment == null) {
+            return;
+        }
+        segment.force();
+        segment = null;
+        channel.close();
+        channel = null;
+    }
+
+    private void putBytes(byte[] value) {
+        if (value == null) {
+            segment.putInt(SegmentFormat.NULL_LENGTH);
+            return;
+        }
+        segment.putInt(value.length);
+        segment.put(value);
+    }
+
+    private static long recordSize(byte[] topic, byte[] key, byte[] value, Header[] headers, byte[][] headerKeys) {
+        long size = Long.BYTES + Integer.BYTES + Short.BYTES + topic.length + bytesSize(key) + bytesSize(value) + Short.BYTES;
+        for (int i = 0; i < headers.length; i++) {
+            size += Short.BYTES + headerKeys[i].length + bytesSize(headers[i].value());
+        }
+        return size;
+    }
+
+    private static int bytesSize(byte[] value) {
+        return Integer.BYTES + (value != null ? value.length : 0);
+    }
+}
@@ -0,0 +1,125 @@
+package org.jorgerojasdev.kafkaenvironmentmock.recording;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.KemClientProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.KemConsumerProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.RecorderProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.RecordingProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.BatchMessageListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the traffic of the topics of every {@code kem.recorder.recordings} entry into its own directory. Each
+ * recording consumes raw bytes on its own consumer group, so it doesn't take records from the KEM consumers, and
+ * starts from the latest offsets unless {@code spring.kafka.consumer.auto-offset-reset} says otherwise.
+ */
+@Component
+@RequiredArgsConstructor
+public class TrafficRecorder {
+
+    private final RecorderProperties recorderProperties;
+
+    private final KafkaProperties kafkaProperties;
+
+    private final KemClientProperties kemClientProperties;
+
+    private final KemConsumerProperties kemConsumerProperties;
+
+    private final List<Recording> recordings = new ArrayList<>();
+
+    private static final Logger logger = LoggerFactory.getLogger(TrafficRecorder.class);
+
+    @EventListener(ApplicationReadyEvent.class)
+    private void startRecordings() throws IOException {
+        recorderProperties.validate();
+        for (RecordingProperties recordingProperties : recorderProperties.getRecordings()) {
+            Recording recording = new Recording(recordingProperties.getName(),
+                    new SegmentWriter(recorderProperties.resolveDirectory(recordingProperties.getName()), recorderProperties.getSegmentSizeBytes()),
+                    createContainer(recordingProperties));
+            recordings.add(recording);
+            recording.container.setupMessageListener((BatchMessageListener<byte[], byte[]>) records -> append(recording, records));
+            recording.container.start();
+            logger.info(String.format("[Recording = %s, Started On Topics: %s, Directory: %s]", recordingProperties.getName(), recordingProperties.getTopics(), recorderProperties.resolveDirectory(recordingProperties.getName())));
+        }
+    }
+
+    private KafkaMessageListenerContainer<byte[], byte[]> createContainer(RecordingProperties recordingProperties) {
+        Map<String, Object> props = new HashMap<>(kafkaProperties.buildConsumerProperties());
+        props.putAll(kemClientProperties.toClientConfig());
+        props.putAll(kemConsumerProperties.getTuning().toConsumerConfig());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, String.format("%s-recorder-%s", kemConsumerProperties.getGroupId(), recordingProperties.getName()));
+        props.put(ConsumerConfig.CLIENT_ID_CONFIG, String.format("%s-recorder-%s", kemClientProperties.getClientIdPrefix(), recordingProperties.getName()));
+
+        DefaultKafkaConsumerFactory<byte[], byte[]> consumerFactory =
+                new DefaultKafkaConsumerFactory<>(props, new ByteArrayDeserializer(), new ByteArrayDeserializer());
+        KafkaMessageListenerContainer<byte[], byte[]> container =
+                new KafkaMessageListenerContainer<>(consumerFactory, new ContainerProperties(recordingProperties.getTopics().toArray(new String[0])));
+        container.setBeanName(String.format("%s-recorder-%s", kemClientProperties.getClientIdPrefix(), recordingProperties.getName()));
+        return container;
+    }
+
+    /**
+     * Records already appended are never retried: an I/O failure only fails the batch from the failed record on, so
+     * the error handler seeks back to it instead of appending the whole batch again.
+     */
+    private void append(Recording recording, List<ConsumerRecord<byte[], byte[]>> records) {
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<byte[], byte[]> record = records.get(i);
+            try {
+                if (!recording.writer.append(record)) {
+                    logger.warn(String.format("[Recording = %s, Skipped record too large for a segment, Topic: %s, Partition: %s, Offset: %s]", recording.name, record.topic(), record.partition(), record.offset()));
+                }
+            } catch (IOException e) {
+                throw new BatchListenerFailedException(String.format("Error writing recording: %s", recording.name), e, i);
+            }
+        }
+    }
+
+    @PreDestroy
+    private void stopRecordings() {
+        for (Recording recording : recordings) {
+            recording.container.stop();
+            try {
+                recording.writer.close();
+                logger.info(String.format("[Recording = %s, Stopped, Records: %s, Bytes: %s, Skipped: %s]", recording.name, recording.writer.getRecords(), recording.writer.getBytes(), recording.writer.getSkipped()));
+            } catch (IOException e) {
+                logger.error(String.format("Error closing recording: %s", recording.name), e);
+            }
+        }
+        recordings.clear();
+    }
+
+    private static final class Recording {
+
+        private final String name;
+
+        private final SegmentWriter writer;
+
+        private final KafkaMessageListenerContainer<byte[], byte[]> container;
+
+        private Recording(String name, SegmentWriter writer, KafkaMessageListenerContainer<byte[], byte[]> container) {
+            this.name = name;
+            this.writer = writer;
+            this.container = container;
+        }
+    }
+}
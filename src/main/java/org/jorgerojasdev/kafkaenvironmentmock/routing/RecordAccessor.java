@@ -0,0 +1,12 @@
+package org.jorgerojasdev.kafkaenvironmentmock.routing;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+/**
+ * Reads one value of a consumed record. Header values are returned as the raw header bytes.
+ */
+@FunctionalInterface
+public interface RecordAccessor {
+
+    Object get(ConsumerRecord<?, ?> record);
+}
@@ -0,0 +1,62 @@
+package org.jorgerojasdev.kafkaenvironmentmock.routing;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.kafka.common.header.Header;
+import org.jorgerojasdev.kafkaenvironmentmock.consumer.PassThroughValue;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Builds the accessors of consumed records. Field paths are split once, so an access is a walk over the Avro records
+ * (or maps) of the value without any parsing. Pass-through values are only decoded by field accessors.
+ */
+public final class RecordAccessors {
+
+    private static final Pattern PATH_SEPARATOR = Pattern.compile("\\.");
+
+    private RecordAccessors() {
+    }
+
+    public static RecordAccessor key() {
+        return record -> record.key();
+    }
+
+    public static RecordAccessor header(String name) {
+        return record -> {
+            Header header = record.headers().lastHeader(name);
+            return header != null ? header.value() : null;
+        };
+    }
+
+    public static RecordAccessor field(String path) {
+        String[] fieldNames = PATH_SEPARATOR.split(path);
+        return record -> readPath(PassThroughValue.unwrap(record.value()), fieldNames);
+    }
+
+    /**
+     * Accessor of a dotted path inside a record value, for values that are not wrapped on a consumed record.
+     */
+    public static Function<Object, Object> valueField(String path) {
+        String[] fieldNames = PATH_SEPARATOR.split(path);
+        return value -> readPath(value, fieldNames);
+    }
+
+    private static Object readPath(Object value, String[] fieldNames) {
+        Object current = value;
+        for (String fieldName : fieldNames) {
+            if (current instanceof IndexedRecord) {
+                IndexedRecord indexedRecord = (IndexedRecord) current;
+                Schema.Field field = indexedRecord.getSchema().getField(fieldName);
+                current = field != null ? indexedRecord.get(field.pos()) : null;
+            } else if (current instanceof Map) {
+                current = ((Map<?, ?>) current).get(fieldName);
+            } else {
+                return null;
+            }
+        }
+        return current;
+    }
+}
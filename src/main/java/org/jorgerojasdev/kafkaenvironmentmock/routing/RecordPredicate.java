@@ -0,0 +1,11 @@
+package org.jorgerojasdev.kafkaenvironmentmock.routing;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+@FunctionalInterface
+public interface RecordPredicate {
+
+    RecordPredicate ALWAYS = record -> true;
+
+    boolean test(ConsumerRecord<?, ?> record);
+}
@@ -0,0 +1,136 @@
+package org.jorgerojasdev.kafkaenvironmentmock.routing;
+
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.FilterSource;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.FilterProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles the filters of a consumer into one predicate. Operands are parsed once at startup: regular expressions are
+ * precompiled and header values are encoded to bytes, so header filters compare the raw header without decoding it.
+ * Key and header filters run before field filters, which are the only ones that need the value.
+ */
+public final class RecordPredicates {
+
+    private RecordPredicates() {
+    }
+
+    public static RecordPredicate compile(List<FilterProperties> filters) {
+        if (filters == null || filters.isEmpty()) {
+            return RecordPredicate.ALWAYS;
+        }
+
+        RecordPredicate[] predicates = filters.stream()
+                .sorted(Comparator.comparing(filter -> FilterSource.FIELD.equals(filter.getSource())))
+                .map(RecordPredicates::compile)
+                .toArray(RecordPredicate[]::new);
+
+        if (predicates.length == 1) {
+            return predicates[0];
+        }
+
+        return record -> {
+            for (RecordPredicate predicate : predicates) {
+                if (!predicate.test(record)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    private static RecordPredicate compile(FilterProperties filter) {
+        RecordAccessor accessor = resolveAccessor(filter);
+        boolean rawBytes = FilterSource.HEADER.equals(filter.getSource());
+
+        switch (filter.getOperator()) {
+            case EXISTS:
+                return record -> accessor.get(record) != null;
+            case NOT_EQUALS:
+                RecordPredicate equals = equalsPredicate(accessor, filter.getValue(), rawBytes);
+                return record -> !equals.test(record);
+            case IN:
+                RecordPredicate[] anyOf = filter.getValues().stream()
+                        .map(value -> equalsPredicate(accessor, value, rawBytes))
+                        .toArray(RecordPredicate[]::new);
+                return record -> {
+                    for (RecordPredicate predicate : anyOf) {
+                        if (predicate.test(record)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                };
+            case RANGE:
+                double min = filter.getMin() != null ? filter.getMin() : Double.NEGATIVE_INFINITY;
+                double max = filter.getMax() != null ? filter.getMax() : Double.POSITIVE_INFINITY;
+                return record -> {
+                    Double number = toNumber(accessor.get(record));
+                    return number != null && number >= min && number <= max;
+                };
+            case MATCHES:
+                Pattern pattern = Pattern.compile(filter.getValue());
+                return record -> {
+                    Object actual = accessor.get(record);
+                    return actual != null && pattern.matcher(asString(actual)).matches();
+                };
+            default:
+                return equalsPredicate(accessor, filter.getValue(), rawBytes);
+        }
+    }
+
+    private static RecordAccessor resolveAccessor(FilterProperties filter) {
+        switch (filter.getSource()) {
+            case KEY:
+                return RecordAccessors.key();
+            case HEADER:
+                return RecordAccessors.header(filter.getName());
+            default:
+                return RecordAccessors.field(filter.getPath());
+        }
+    }
+
+    private static RecordPredicate equalsPredicate(RecordAccessor accessor, String expected, boolean rawBytes) {
+        if (rawBytes) {
+            byte[] expectedBytes = expected.getBytes(StandardCharsets.UTF_8);
+            return record -> {
+                Object actual = accessor.get(record);
+                return actual instanceof byte[] && Arrays.equals((byte[]) actual, expectedBytes);
+            };
+        }
+
+        Double expectedNumber = toNumber(expected);
+        return record -> {
+            Object actual = accessor.get(record);
+            if (actual == null) {
+                return false;
+            }
+            if (actual instanceof Number && expectedNumber != null) {
+                return ((Number) actual).doubleValue() == expectedNumber;
+            }
+            return expected.equals(asString(actual));
+        };
+    }
+
+    private static Double toNumber(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.valueOf(asString(value));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String asString(Object value) {
+        return value instanceof byte[] ? new String((byte[]) value, StandardCharsets.UTF_8) : value.toString();
+    }
+}
@@ -0,0 +1,66 @@
+package org.jorgerojasdev.kafkaenvironmentmock.schema;
+
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.serializers.KafkaAvroDeserializer;
+import io.confluent.kafka.serializers.KafkaAvroSerializer;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.jorgerojasdev.kafkaenvironmentmock.constants.KEMConstants;
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.SchemaRegistryProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Creates the serializers and deserializers of the Kafka clients. Avro ones are built on the shared
+ * {@link SchemaRegistryClient} instead of creating a registry client each.
+ */
+@Component
+@RequiredArgsConstructor
+public class AvroSerdes {
+
+    private final SchemaRegistryClient schemaRegistryClient;
+
+    private final SchemaRegistryProperties schemaRegistryProperties;
+
+    @SuppressWarnings("unchecked")
+    public Serializer<Object> createSerializer(Class<?> serializerClass, boolean isKey) {
+        if (KafkaAvroSerializer.class.equals(serializerClass)) {
+            KafkaAvroSerializer serializer = new KafkaAvroSerializer(schemaRegistryClient);
+            serializer.configure(getSerdeConfig(), isKey);
+            return serializer;
+        }
+        Serializer<Object> serializer = (Serializer<Object>) newInstance(serializerClass);
+        serializer.configure(getSerdeConfig(), isKey);
+        return serializer;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Deserializer<Object> createDeserializer(Class<?> deserializerClass, boolean isKey) {
+        if (KafkaAvroDeserializer.class.equals(deserializerClass)) {
+            KafkaAvroDeserializer deserializer = new KafkaAvroDeserializer(schemaRegistryClient);
+            deserializer.configure(getSerdeConfig(), isKey);
+            return deserializer;
+        }
+        Deserializer<Object> deserializer = (Deserializer<Object>) newInstance(deserializerClass);
+        deserializer.configure(getSerdeConfig(), isKey);
+        return deserializer;
+    }
+
+    private Map<String, Object> getSerdeConfig() {
+        Map<String, Object> serdeConfig = new HashMap<>(schemaRegistryProperties.getProperties());
+        serdeConfig.put(KEMConstants.SCHEMA_REGISTRY_KEY, schemaRegistryProperties.getUrl());
+        return serdeConfig;
+    }
+
+    private static Object newInstance(Class<?> clazz) {
+        try {
+            return clazz.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new AutoconfigureKEMException(String.format("Can't instantiate serde: %s", clazz.getName()), e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.jorgerojasdev.kafkaenvironmentmock.schema;
+
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.apache.avro.Schema;
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.jorgerojasdev.kafkaenvironmentmock.props.global.ProducerHandle;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.SchemaRegistryProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Schema ids of the value subjects written by the producers. Ids are registered in advance at startup through
+ * {@link #preload(ProducerHandle)}, which also warms up the shared registry client used by the serializers, so
+ * sending never waits for a registry round trip.
+ */
+@Component
+@RequiredArgsConstructor
+public class SchemaIdCache {
+
+    private final SchemaRegistryClient schemaRegistryClient;
+
+    private final SchemaRegistryProperties schemaRegistryProperties;
+
+    private final Map<SubjectSchema, Integer> schemaIds = new ConcurrentHashMap<>();
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaIdCache.class);
+
+    public void preload(ProducerHandle producerHandle) {
+        if (!schemaRegistryProperties.getPreload() || producerHandle.getRecordPlan() == null) {
+            return;
+        }
+        try {
+            getValueSchemaId(producerHandle.getProducerProperties().getTopic(), producerHandle.getRecordPlan().getSchema());
+        } catch (Exception e) {
+            logger.warn(String.format("Schema not preloaded for producer: %s, it will be registered on send. Cause: %s", producerHandle.getOperationId(), e));
+        }
+    }
+
+    public int getValueSchemaId(String topic, Schema schema) {
+        return getSchemaId(String.format("%s-value", topic), schema);
+    }
+
+    public int getSchemaId(String subject, Schema schema) {
+        return schemaIds.computeIfAbsent(new SubjectSchema(subject, schema), this::register);
+    }
+
+    private int register(SubjectSchema subjectSchema) {
+        try {
+            return schemaRegistryClient.register(subjectSchema.getSubject(), subjectSchema.getSchema());
+        } catch (IOException | RestClientException e) {
+            throw new AutoconfigureKEMException(String.format("Error registering schema: %s on subject: %s", subjectSchema.getSchema().getFullName(), subjectSchema.getSubject()), e);
+        }
+    }
+
+    @Value
+    private static class SubjectSchema {
+
+        String subject;
+
+        Schema schema;
+    }
+}
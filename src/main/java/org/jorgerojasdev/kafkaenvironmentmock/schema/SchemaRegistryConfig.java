@@ -0,0 +1,38 @@
+package org.jorgerojasdev.kafkaenvironmentmock.schema;
+
+import io.confluent.kafka.schemaregistry.client.CachedSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.SchemaRegistryMode;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.SchemaRegistryProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+
+/**
+ * Single registry client shared by every Avro serializer and deserializer of the application, so each schema and id
+ * is cached once, bounded by {@code kem.schema-registry.cache-capacity} per subject. A {@code mock://} url works as
+ * the {@code OFFLINE} mode.
+ */
+@Configuration
+public class SchemaRegistryConfig {
+
+    private static final String MOCK_URL_PREFIX = "mock://";
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaRegistryConfig.class);
+
+    @Bean
+    public SchemaRegistryClient schemaRegistryClient(SchemaRegistryProperties schemaRegistryProperties) {
+        if (SchemaRegistryMode.OFFLINE.equals(schemaRegistryProperties.getMode()) || schemaRegistryProperties.getUrl().startsWith(MOCK_URL_PREFIX)) {
+            logger.info("Schema registry in OFFLINE mode, schema ids are assigned locally");
+            return new MockSchemaRegistryClient();
+        }
+        return new CachedSchemaRegistryClient(
+                Arrays.asList(schemaRegistryProperties.getUrl().split(",")),
+                schemaRegistryProperties.getCacheCapacity(),
+                schemaRegistryProperties.getProperties());
+    }
+}
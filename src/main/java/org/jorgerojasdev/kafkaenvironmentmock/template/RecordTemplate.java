@@ -0,0 +1,90 @@
+package org.jorgerojasdev.kafkaenvironmentmock.template;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.ProducerProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Templates of a producer: key, value and headers compiled from its properties. The key and value templates are
+ * null when they don't have placeholders.
+ */
+public final class RecordTemplate {
+
+    private final ValueTemplate keyTemplate;
+
+    private final ValueTemplate valueTemplate;
+
+    private final String[] headerNames;
+
+    private final ValueTemplate[] headerTemplates;
+
+    private RecordTemplate(ValueTemplate keyTemplate, ValueTemplate valueTemplate, String[] headerNames, ValueTemplate[] headerTemplates) {
+        this.keyTemplate = keyTemplate;
+        this.valueTemplate = valueTemplate;
+        this.headerNames = headerNames;
+        this.headerTemplates = headerTemplates;
+    }
+
+    /**
+     * @return the compiled template, or null when the producer record is fully static and has no headers
+     */
+    public static RecordTemplate compile(ProducerProperties producerProperties) {
+        String operationId = producerProperties.getOperationId();
+        ValueTemplate keyTemplate = ValueTemplates.compile(producerProperties.getKey(), operationId);
+        ValueTemplate valueTemplate = ValueTemplates.compile(producerProperties.getRecord().get("value"), operationId);
+
+        Map<String, String> headers = producerProperties.getHeaders();
+        String[] headerNames = new String[headers.size()];
+        ValueTemplate[] headerTemplates = new ValueTemplate[headers.size()];
+        int index = 0;
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            ValueTemplate headerTemplate = ValueTemplates.compile(header.getValue(), operationId);
+            String headerValue = header.getValue();
+            headerNames[index] = header.getKey();
+            headerTemplates[index++] = headerTemplate != null ? headerTemplate : source -> headerValue;
+        }
+
+        if (keyTemplate == null && valueTemplate == null && headerNames.length == 0) {
+            return null;
+        }
+        return new RecordTemplate(keyTemplate, valueTemplate, headerNames, headerTemplates);
+    }
+
+    public boolean hasKeyTemplate() {
+        return keyTemplate != null;
+    }
+
+    public boolean hasValueTemplate() {
+        return valueTemplate != null;
+    }
+
+    public Object resolveKey(ConsumerRecord<?, ?> source) {
+        return keyTemplate.resolve(source);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> resolveValue(ConsumerRecord<?, ?> source) {
+        return (Map<String, Object>) valueTemplate.resolve(source);
+    }
+
+    public List<Header> resolveHeaders(ConsumerRecord<?, ?> source) {
+        if (headerNames.length == 0) {
+            return null;
+        }
+
+        List<Header> headers = new ArrayList<>(headerNames.length);
+        for (int i = 0; i < headerNames.length; i++) {
+            Object value = headerTemplates[i].resolve(source);
+            if (value != null) {
+                headers.add(new RecordHeader(headerNames[i], String.valueOf(value).getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,108 @@
+package org.jorgerojasdev.kafkaenvironmentmock.template;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericEnumSymbol;
+import org.apache.avro.generic.IndexedRecord;
+import org.jorgerojasdev.kafkaenvironmentmock.consumer.PassThroughValue;
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.jorgerojasdev.kafkaenvironmentmock.routing.RecordAccessor;
+import org.jorgerojasdev.kafkaenvironmentmock.routing.RecordAccessors;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves the accessor chain of a placeholder expression:
+ * {@code key}, {@code topic}, {@code partition}, {@code offset}, {@code timestamp}, {@code header.<name>},
+ * {@code value} and {@code value.<path>}.
+ * <p>
+ * Accessed values are turned into the plain values understood by the mapping plans: Avro strings become
+ * {@link String}, enum symbols their name and nested records a map of their fields.
+ */
+final class TemplateAccessors {
+
+    private static final String HEADER_PREFIX = "header.";
+
+    private static final String VALUE_PREFIX = "value.";
+
+    private TemplateAccessors() {
+    }
+
+    static ValueTemplate compile(String expression, String operationId) {
+        RecordAccessor accessor = resolveAccessor(expression, operationId);
+        return source -> source != null ? toTemplateValue(accessor.get(source)) : null;
+    }
+
+    private static RecordAccessor resolveAccessor(String expression, String operationId) {
+        switch (expression) {
+            case "key":
+                return RecordAccessors.key();
+            case "topic":
+                return record -> record.topic();
+            case "partition":
+                return record -> record.partition();
+            case "offset":
+                return record -> record.offset();
+            case "timestamp":
+                return record -> record.timestamp();
+            case "value":
+                return record -> PassThroughValue.unwrap(record.value());
+            default:
+                break;
+        }
+
+        if (expression.startsWith(HEADER_PREFIX)) {
+            return RecordAccessors.header(expression.substring(HEADER_PREFIX.length()));
+        }
+
+        if (expression.startsWith(VALUE_PREFIX)) {
+            return RecordAccessors.field(expression.substring(VALUE_PREFIX.length()));
+        }
+
+        throw new AutoconfigureKEMException(String.format("Unknown template expression: {{%s}} on producer: %s", expression, operationId));
+    }
+
+    static Object toTemplateValue(Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+
+        if (value instanceof CharSequence || value instanceof GenericEnumSymbol || value instanceof Enum) {
+            return value.toString();
+        }
+
+        if (value instanceof byte[]) {
+            return new String((byte[]) value, StandardCharsets.UTF_8);
+        }
+
+        if (value instanceof IndexedRecord) {
+            IndexedRecord indexedRecord = (IndexedRecord) value;
+            List<Schema.Field> fields = indexedRecord.getSchema().getFields();
+            Map<String, Object> map = new LinkedHashMap<>(fields.size() * 2);
+            for (Schema.Field field : fields) {
+                map.put(field.name(), toTemplateValue(indexedRecord.get(field.pos())));
+            }
+            return map;
+        }
+
+        if (value instanceof Map) {
+            Map<?, ?> source = (Map<?, ?>) value;
+            Map<String, Object> map = new LinkedHashMap<>(source.size() * 2);
+            source.forEach((key, item) -> map.put(String.valueOf(key), toTemplateValue(item)));
+            return map;
+        }
+
+        if (value instanceof Collection) {
+            Collection<?> source = (Collection<?>) value;
+            List<Object> list = new ArrayList<>(source.size());
+            source.forEach(item -> list.add(toTemplateValue(item)));
+            return list;
+        }
+
+        return value;
+    }
+}
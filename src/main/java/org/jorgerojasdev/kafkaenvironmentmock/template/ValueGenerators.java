@@ -0,0 +1,125 @@
+package org.jorgerojasdev.kafkaenvironmentmock.template;
+
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.jorgerojasdev.kafkaenvironmentmock.partitioning.KeyGenerators;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves the generator of a placeholder expression with arguments, such as {@code int(1, 100)}. Arguments are
+ * parsed once and every generated value comes from {@link ThreadLocalRandom}, so generators don't contend between
+ * sending threads. Generators don't need a consumed record.
+ * <ul>
+ *     <li>{@code int(min, max)}, {@code long(min, max)}, {@code double(min, max)}: random number, max excluded.</li>
+ *     <li>{@code sequence(start)}: counter of the placeholder, starting at {@code start} (0 by default).</li>
+ *     <li>{@code now()}: epoch millis. {@code isoNow()}: ISO-8601 instant.</li>
+ *     <li>{@code uuid()}: random UUID. {@code bool()}: random boolean.</li>
+ *     <li>{@code pick(A, B, C)}: one of the values with the same probability.</li>
+ *     <li>{@code weighted(A:70, B:20, C:10)}: one of the values with the given weights.</li>
+ * </ul>
+ */
+final class ValueGenerators {
+
+    private ValueGenerators() {
+    }
+
+    static boolean isGenerator(String expression) {
+        return expression.endsWith(")") && expression.indexOf('(') > 0;
+    }
+
+    static ValueTemplate compile(String expression, String operationId) {
+        int open = expression.indexOf('(');
+        String name = expression.substring(0, open).trim();
+        String[] args = parseArgs(expression.substring(open + 1, expression.length() - 1));
+
+        try {
+            switch (name) {
+                case "int":
+                    int minInt = Integer.parseInt(arg(args, 0));
+                    int maxInt = Integer.parseInt(arg(args, 1));
+                    checkRange(minInt < maxInt);
+                    return source -> ThreadLocalRandom.current().nextInt(minInt, maxInt);
+                case "long":
+                    long minLong = Long.parseLong(arg(args, 0));
+                    long maxLong = Long.parseLong(arg(args, 1));
+                    checkRange(minLong < maxLong);
+                    return source -> ThreadLocalRandom.current().nextLong(minLong, maxLong);
+                case "double":
+                    double minDouble = Double.parseDouble(arg(args, 0));
+                    double maxDouble = Double.parseDouble(arg(args, 1));
+                    checkRange(minDouble < maxDouble && Double.isFinite(maxDouble - minDouble));
+                    return source -> ThreadLocalRandom.current().nextDouble(minDouble, maxDouble);
+                case "sequence":
+                    AtomicLong sequence = new AtomicLong(args.length > 0 ? Long.parseLong(args[0]) : 0L);
+                    return source -> sequence.getAndIncrement();
+                case "now":
+                    return source -> System.currentTimeMillis();
+                case "isoNow":
+                    return source -> Instant.now().toString();
+                case "uuid":
+                    return source -> KeyGenerators.randomUuid();
+                case "bool":
+                    return source -> ThreadLocalRandom.current().nextBoolean();
+                case "pick":
+                    String[] values = args.clone();
+                    arg(values, 0);
+                    return source -> values[ThreadLocalRandom.current().nextInt(values.length)];
+                case "weighted":
+                    return weighted(args);
+                default:
+                    throw new AutoconfigureKEMException(String.format("Unknown generator: {{%s}} on producer: %s", expression, operationId));
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new AutoconfigureKEMException(String.format("Invalid arguments of generator: {{%s}} on producer: %s", expression, operationId), e);
+        }
+    }
+
+    private static String[] parseArgs(String args) {
+        if (args.isBlank()) {
+            return new String[0];
+        }
+        return Arrays.stream(args.split(",")).map(String::trim).toArray(String[]::new);
+    }
+
+    private static String arg(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IndexOutOfBoundsException(String.format("Argument %s not found", index));
+        }
+        return args[index];
+    }
+
+    private static void checkRange(boolean valid) {
+        if (!valid) {
+            throw new IllegalArgumentException("Min must be lower than max");
+        }
+    }
+
+    /**
+     * Values are picked with a binary search over the cumulative weights.
+     */
+    private static ValueTemplate weighted(String[] args) {
+        String[] values = new String[args.length];
+        long[] cumulativeWeights = new long[args.length];
+        long totalWeight = 0L;
+        for (int i = 0; i < args.length; i++) {
+            int separator = args[i].lastIndexOf(':');
+            values[i] = args[i].substring(0, separator).trim();
+            long weight = Long.parseLong(args[i].substring(separator + 1).trim());
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Weights must be greater than 0");
+            }
+            totalWeight += weight;
+            cumulativeWeights[i] = totalWeight;
+        }
+        arg(values, 0);
+
+        long bound = totalWeight;
+        return source -> {
+            int index = Arrays.binarySearch(cumulativeWeights, ThreadLocalRandom.current().nextLong(bound) + 1);
+            return values[index >= 0 ? index : -index - 1];
+        };
+    }
+}
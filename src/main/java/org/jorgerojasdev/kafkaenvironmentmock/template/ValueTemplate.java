@@ -0,0 +1,13 @@
+package org.jorgerojasdev.kafkaenvironmentmock.template;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+/**
+ * Compiled part of a producer record that is derived from the consumed record. The source is null when the producer
+ * isn't launched by a consumer, and then every placeholder resolves to null.
+ */
+@FunctionalInterface
+public interface ValueTemplate {
+
+    Object resolve(ConsumerRecord<?, ?> source);
+}
@@ -0,0 +1,140 @@
+package org.jorgerojasdev.kafkaenvironmentmock.template;
+
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles the values of a producer record into {@link ValueTemplate}s. Placeholders either read the consumed
+ * record (see {@link TemplateAccessors}) or generate a value (see {@link ValueGenerators}). A string that is exactly
+ * one placeholder ({@code "{{value.order.id}}"}) keeps the type of the resolved value, while placeholders inside a
+ * longer string ({@code "order-{{key}}"}) are concatenated. Values without placeholders compile to null, so static records keep
+ * the static payload path, and an unclosed placeholder is rejected.
+ */
+public final class ValueTemplates {
+
+    private static final String OPEN = "{{";
+
+    private static final String CLOSE = "}}";
+
+    private ValueTemplates() {
+    }
+
+    public static ValueTemplate compile(Object value, String operationId) {
+        if (value instanceof String) {
+            return compileString((String) value, operationId);
+        }
+
+        if (value instanceof Map) {
+            return compileMap((Map<?, ?>) value, operationId);
+        }
+
+        if (value instanceof List) {
+            return compileList((List<?>) value, operationId);
+        }
+
+        return null;
+    }
+
+    private static ValueTemplate compileString(String value, String operationId) {
+        int open = value.indexOf(OPEN);
+        if (open < 0) {
+            return null;
+        }
+
+        List<ValueTemplate> parts = new ArrayList<>();
+        int position = 0;
+        while (open >= 0) {
+            int close = value.indexOf(CLOSE, open);
+            if (close < 0) {
+                throw new AutoconfigureKEMException(String.format("Unclosed placeholder in template: %s on producer: %s", value, operationId));
+            }
+            if (open > position) {
+                parts.add(constant(value.substring(position, open)));
+            }
+            parts.add(compileExpression(value.substring(open + OPEN.length(), close).trim(), operationId));
+            position = close + CLOSE.length();
+            open = value.indexOf(OPEN, position);
+        }
+        if (position < value.length()) {
+            parts.add(constant(value.substring(position)));
+        }
+
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+
+        ValueTemplate[] compiledParts = parts.toArray(new ValueTemplate[0]);
+        return source -> {
+            StringBuilder builder = new StringBuilder();
+            for (ValueTemplate part : compiledParts) {
+                Object resolved = part.resolve(source);
+                if (resolved != null) {
+                    builder.append(resolved);
+                }
+            }
+            return builder.toString();
+        };
+    }
+
+    private static ValueTemplate compileMap(Map<?, ?> value, String operationId) {
+        String[] keys = new String[value.size()];
+        ValueTemplate[] templates = new ValueTemplate[value.size()];
+        boolean dynamic = false;
+        int index = 0;
+        for (Map.Entry<?, ?> entry : value.entrySet()) {
+            ValueTemplate template = compile(entry.getValue(), operationId);
+            dynamic |= template != null;
+            keys[index] = String.valueOf(entry.getKey());
+            templates[index++] = template != null ? template : constant(entry.getValue());
+        }
+
+        if (!dynamic) {
+            return null;
+        }
+
+        return source -> {
+            Map<String, Object> map = new LinkedHashMap<>(keys.length * 2);
+            for (int i = 0; i < keys.length; i++) {
+                map.put(keys[i], templates[i].resolve(source));
+            }
+            return map;
+        };
+    }
+
+    private static ValueTemplate compileList(List<?> value, String operationId) {
+        ValueTemplate[] templates = new ValueTemplate[value.size()];
+        boolean dynamic = false;
+        for (int i = 0; i < templates.length; i++) {
+            ValueTemplate template = compile(value.get(i), operationId);
+            dynamic |= template != null;
+            templates[i] = template != null ? template : constant(value.get(i));
+        }
+
+        if (!dynamic) {
+            return null;
+        }
+
+        return source -> {
+            List<Object> list = new ArrayList<>(templates.length);
+            for (ValueTemplate template : templates) {
+                list.add(template.resolve(source));
+            }
+            return list;
+        };
+    }
+
+    private static ValueTemplate compileExpression(String expression, String operationId) {
+        if (ValueGenerators.isGenerator(expression)) {
+            return ValueGenerators.compile(expression, operationId);
+        }
+        return TemplateAccessors.compile(expression, operationId);
+    }
+
+    private static ValueTemplate constant(Object value) {
+        return source -> value;
+    }
+}
@@ -0,0 +1,167 @@
+package org.jorgerojasdev.kafkaenvironmentmock.topic;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AlterConfigOp;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.NewPartitions;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.config.ConfigResource;
+import org.apache.kafka.common.errors.TopicExistsException;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.EventProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.TopicSettingsProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the topics of {@code event.topics} with the partitions, replicas and configs of their
+ * {@code event.topic-settings}. Existing topics are reconciled: partitions are increased, configs are updated and
+ * mismatches that can't be fixed (fewer partitions, different replication factor) are reported.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TopicProvisioner {
+
+    private final EventProperties eventProperties;
+
+    public void provision(AdminClient adminClient) throws InterruptedException, ExecutionException {
+        Map<String, TopicDescription> existingTopics = describeExistingTopics(adminClient, eventProperties.getTopics());
+
+        List<NewTopic> newTopics = eventProperties.getTopics().stream()
+                .filter(topic -> !existingTopics.containsKey(topic))
+                .map(this::newTopic)
+                .collect(Collectors.toList());
+        List<String> concurrentlyCreatedTopics = createTopics(adminClient, newTopics);
+        existingTopics.putAll(describeExistingTopics(adminClient, concurrentlyCreatedTopics));
+
+        increasePartitions(adminClient, existingTopics);
+        reportReplicationMismatches(existingTopics);
+        updateConfigs(adminClient, existingTopics.keySet());
+    }
+
+    private NewTopic newTopic(String topic) {
+        TopicSettingsProperties topicSettings = eventProperties.getTopicSettings(topic);
+        return new NewTopic(topic, Optional.ofNullable(topicSettings.getPartitions()), Optional.ofNullable(topicSettings.getReplicas()))
+                .configs(topicSettings.getConfigs());
+    }
+
+    private Map<String, TopicDescription> describeExistingTopics(AdminClient adminClient, Collection<String> topics) throws InterruptedException, ExecutionException {
+        Map<String, TopicDescription> existingTopics = new HashMap<>();
+        if (topics.isEmpty()) {
+            return existingTopics;
+        }
+        for (Map.Entry<String, KafkaFuture<TopicDescription>> description : adminClient.describeTopics(topics).topicNameValues().entrySet()) {
+            try {
+                existingTopics.put(description.getKey(), description.getValue().get());
+            } catch (ExecutionException e) {
+                if (!(e.getCause() instanceof UnknownTopicOrPartitionException)) {
+                    throw e;
+                }
+            }
+        }
+        return existingTopics;
+    }
+
+    /**
+     * @return the topics that were created by someone else in the meantime, such as the broker auto creation
+     */
+    private List<String> createTopics(AdminClient adminClient, List<NewTopic> newTopics) throws InterruptedException, ExecutionException {
+        List<String> concurrentlyCreatedTopics = new ArrayList<>();
+        if (newTopics.isEmpty()) {
+            return concurrentlyCreatedTopics;
+        }
+        for (Map.Entry<String, KafkaFuture<Void>> creation : adminClient.createTopics(newTopics).values().entrySet()) {
+            try {
+                creation.getValue().get();
+                log.info(String.format("Topic created: %s", creation.getKey()));
+            } catch (ExecutionException e) {
+                if (!(e.getCause() instanceof TopicExistsException)) {
+                    throw e;
+                }
+                concurrentlyCreatedTopics.add(creation.getKey());
+            }
+        }
+        return concurrentlyCreatedTopics;
+    }
+
+    private void increasePartitions(AdminClient adminClient, Map<String, TopicDescription> existingTopics) throws InterruptedException, ExecutionException {
+        Map<String, NewPartitions> newPartitions = new HashMap<>();
+        existingTopics.forEach((topic, description) -> {
+            Integer partitions = eventProperties.getTopicSettings(topic).getPartitions();
+            int currentPartitions = description.partitions().size();
+            if (partitions == null || partitions == currentPartitions) {
+                return;
+            }
+            if (partitions > currentPartitions) {
+                log.info(String.format("Increasing partitions of topic: %s from %s to %s", topic, currentPartitions, partitions));
+                newPartitions.put(topic, NewPartitions.increaseTo(partitions));
+            } else {
+                log.warn(String.format("Topic: %s has %s partitions, more than the %s declared. Partitions can't be decreased", topic, currentPartitions, partitions));
+            }
+        });
+
+        if (!newPartitions.isEmpty()) {
+            adminClient.createPartitions(newPartitions).all().get();
+        }
+    }
+
+    private void reportReplicationMismatches(Map<String, TopicDescription> existingTopics) {
+        existingTopics.forEach((topic, description) -> {
+            Short replicas = eventProperties.getTopicSettings(topic).getReplicas();
+            int currentReplicas = description.partitions().isEmpty() ? 0 : description.partitions().get(0).replicas().size();
+            if (replicas != null && replicas != currentReplicas) {
+                log.warn(String.format("Topic: %s has replication factor %s instead of the %s declared", topic, currentReplicas, replicas));
+            }
+        });
+    }
+
+    private void updateConfigs(AdminClient adminClient, Collection<String> existingTopics) throws InterruptedException, ExecutionException {
+        List<ConfigResource> resources = existingTopics.stream()
+                .filter(topic -> !eventProperties.getTopicSettings(topic).getConfigs().isEmpty())
+                .map(topic -> new ConfigResource(ConfigResource.Type.TOPIC, topic))
+                .collect(Collectors.toList());
+        if (resources.isEmpty()) {
+            return;
+        }
+
+        Map<ConfigResource, Collection<AlterConfigOp>> alterations = new HashMap<>();
+        adminClient.describeConfigs(resources).all().get().forEach((resource, config) -> {
+            List<AlterConfigOp> operations = resolveConfigAlterations(resource.name(), config);
+            if (!operations.isEmpty()) {
+                alterations.put(resource, operations);
+            }
+        });
+
+        if (!alterations.isEmpty()) {
+            adminClient.incrementalAlterConfigs(alterations).all().get();
+        }
+    }
+
+    private List<AlterConfigOp> resolveConfigAlterations(String topic, Config config) {
+        List<AlterConfigOp> operations = new ArrayList<>();
+        eventProperties.getTopicSettings(topic).getConfigs().forEach((name, value) -> {
+            ConfigEntry currentEntry = config.get(name);
+            String currentValue = currentEntry != null ? currentEntry.value() : null;
+            if (!Objects.equals(currentValue, value)) {
+                log.info(String.format("Updating config: %s of topic: %s from %s to %s", name, topic, currentValue, value));
+                operations.add(new AlterConfigOp(new ConfigEntry(name, value), AlterConfigOp.OpType.SET));
+            }
+        });
+        return operations;
+    }
+}
@@ -0,0 +1,145 @@
+package org.jorgerojasdev.kafkaenvironmentmock.topic;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.EventProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.PartitioningProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.ProducerProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.KemTopicProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provisions the topics of {@code event.topics} and waits until they are ready. It starts in a phase before the
+ * listener containers, so consumers never subscribe to a topic that doesn't exist yet. The partitions declared by
+ * producers are then checked once against the actual partition counts.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class TopicProvisioningLifecycle implements SmartLifecycle {
+
+    private static final int PHASE = AbstractMessageListenerContainer.DEFAULT_PHASE - 100;
+
+    private final EventProperties eventProperties;
+
+    private final KemTopicProperties kemTopicProperties;
+
+    private final TopicProvisioner topicProvisioner;
+
+    private final KafkaAdmin kafkaAdmin;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        try (AdminClient client = AdminClient.create(kafkaAdmin.getConfigurationProperties())) {
+            topicProvisioner.provision(client);
+            checkDeclaredPartitions(waitUntilTopicsAreReady(client));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AutoconfigureKEMException("Interrupted while provisioning topics", e);
+        } catch (ExecutionException e) {
+            throw new AutoconfigureKEMException(String.format("Error provisioning topics: %s", eventProperties.getTopics()), e.getCause());
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * Describes every pending topic in one request and retries with exponential backoff until all of them exist and
+     * every partition has a leader, or {@code kem.topic.readiness-timeout-ms} is exceeded.
+     *
+     * @return the partition count of every topic
+     */
+    private Map<String, Integer> waitUntilTopicsAreReady(AdminClient adminClient) throws InterruptedException {
+        long startNanos = System.nanoTime();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(kemTopicProperties.getReadinessTimeoutMs());
+        long backoffMs = kemTopicProperties.getReadinessInitialBackoffMs();
+        Set<String> pendingTopics = new LinkedHashSet<>(eventProperties.getTopics());
+        Map<String, Integer> partitionCounts = new HashMap<>();
+
+        log.info("Waiting for topics info...");
+        while (true) {
+            Map<String, Integer> readyTopics = findReadyTopics(adminClient, pendingTopics);
+            partitionCounts.putAll(readyTopics);
+            pendingTopics.removeAll(readyTopics.keySet());
+            if (pendingTopics.isEmpty()) {
+                log.info("All topics are running!");
+                return partitionCounts;
+            }
+
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(timeoutNanos - (System.nanoTime() - startNanos));
+            if (remainingMs <= 0) {
+                throw new AutoconfigureKEMException(String.format("Topics not ready after %s ms: %s", kemTopicProperties.getReadinessTimeoutMs(), pendingTopics));
+            }
+            log.debug(String.format("Topics not ready yet: %s, retrying in %s ms", pendingTopics, Math.min(backoffMs, remainingMs)));
+            Thread.sleep(Math.min(backoffMs, remainingMs));
+            backoffMs = Math.min(backoffMs * 2, kemTopicProperties.getReadinessMaxBackoffMs());
+        }
+    }
+
+    private Map<String, Integer> findReadyTopics(AdminClient adminClient, Set<String> pendingTopics) throws InterruptedException {
+        Map<String, Integer> readyTopics = new HashMap<>();
+        for (Map.Entry<String, KafkaFuture<TopicDescription>> description : adminClient.describeTopics(pendingTopics).topicNameValues().entrySet()) {
+            try {
+                TopicDescription topicDescription = description.getValue().get();
+                if (hasLeaders(topicDescription)) {
+                    readyTopics.put(description.getKey(), topicDescription.partitions().size());
+                }
+            } catch (ExecutionException e) {
+                if (!(e.getCause() instanceof UnknownTopicOrPartitionException)) {
+                    log.warn(String.format("Error describing topic: %s. Cause: %s", description.getKey(), e.getCause()));
+                }
+            }
+        }
+        return readyTopics;
+    }
+
+    private void checkDeclaredPartitions(Map<String, Integer> partitionCounts) {
+        for (ProducerProperties producer : eventProperties.getProducers()) {
+            PartitioningProperties partitioning = producer.getPartitioning();
+            Integer partitionCount = partitionCounts.get(producer.getTopic());
+            if (partitioning == null || partitionCount == null) {
+                continue;
+            }
+            for (Integer partition : partitioning.getPartitions()) {
+                if (partition >= partitionCount) {
+                    throw new AutoconfigureKEMException(String.format("Partition %s doesn't exist on topic: %s, which has %s partitions. Producer: %s", partition, producer.getTopic(), partitionCount, producer.getOperationId()));
+                }
+            }
+        }
+    }
+
+    private boolean hasLeaders(TopicDescription topicDescription) {
+        return topicDescription.partitions().stream().allMatch(partition -> partition.leader() != null && !partition.leader().isEmpty());
+    }
+}
@@ -0,0 +1,137 @@
+package org.jorgerojasdev.kafkaenvironmentmock.load;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.Serializer;
+import org.jorgerojasdev.kafkaenvironmentmock.producer.ProducerPayloadResolver;
+import org.jorgerojasdev.kafkaenvironmentmock.producer.SendChannel;
+import org.jorgerojasdev.kafkaenvironmentmock.producer.SendChannels;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.LoadProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.ProducerProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.global.ProducerHandle;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LoadRunTest {
+
+    @Test
+    void sendsTheTotalMessages() {
+        MockProducer<Object, Object> producer = new MockProducer<>(true, new NoOpSerializer(), new NoOpSerializer());
+        LoadRun loadRun = loadRun(producer, load(100_000D, 5_000L, null, 0L));
+
+        loadRun.run();
+
+        assertThat(loadRun.getSent()).isEqualTo(5_000L);
+        assertThat(loadRun.getAcknowledged()).isEqualTo(5_000L);
+        assertThat(producer.history()).hasSize(5_000);
+        assertThat(loadRun.isRunning()).isFalse();
+    }
+
+    @Test
+    void keepsCloseToTheTargetRate() {
+        MockProducer<Object, Object> producer = new MockProducer<>(true, new NoOpSerializer(), new NoOpSerializer());
+        LoadRun loadRun = loadRun(producer, load(20_000D, null, 1_000L, 0L));
+
+        loadRun.run();
+
+        assertThat(loadRun.getSent()).isBetween(18_000L, 20_000L);
+        assertThat(loadRun.getAchievedMessagesPerSecond()).isBetween(18_000D, 20_500D);
+    }
+
+    @Test
+    void rampsUpLinearly() {
+        MockProducer<Object, Object> producer = new MockProducer<>(true, new NoOpSerializer(), new NoOpSerializer());
+        LoadRun loadRun = loadRun(producer, load(20_000D, null, 1_000L, 1_000L));
+
+        loadRun.run();
+
+        // the whole run is the ramp, so it sends half of the target rate on average
+        assertThat(loadRun.getSent()).isBetween(8_500L, 10_500L);
+    }
+
+    @Test
+    void countsFailedRecordsAndGoesOn() {
+        MockProducer<Object, Object> producer = new MockProducer<>(true, new NoOpSerializer(), new NoOpSerializer());
+        LoadRun loadRun = loadRun(producer, load(100_000D, 1_000L, null, 0L), new FixedPayloadResolver(10));
+
+        loadRun.run();
+
+        assertThat(loadRun.getFailed()).isEqualTo(100L);
+        assertThat(loadRun.getSent()).isEqualTo(900L);
+        assertThat(loadRun.getAcknowledged()).isEqualTo(900L);
+    }
+
+    @Test
+    void stopsOnRequest() throws Exception {
+        MockProducer<Object, Object> producer = new MockProducer<>(true, new NoOpSerializer(), new NoOpSerializer());
+        LoadRun loadRun = loadRun(producer, load(1_000D, null, null, 0L));
+        Thread thread = new Thread(loadRun);
+        thread.start();
+
+        Thread.sleep(100L);
+        loadRun.stop();
+        thread.join(1_000L);
+
+        assertThat(thread.isAlive()).isFalse();
+        assertThat(loadRun.getSent()).isPositive().isEqualTo(loadRun.getAcknowledged());
+    }
+
+    private static LoadRun loadRun(MockProducer<Object, Object> producer, LoadProperties loadProperties) {
+        return loadRun(producer, loadProperties, new FixedPayloadResolver(0));
+    }
+
+    private static LoadRun loadRun(MockProducer<Object, Object> producer, LoadProperties loadProperties, ProducerPayloadResolver producerPayloadResolver) {
+        ProducerProperties producerProperties = new ProducerProperties();
+        producerProperties.setOperationId("load");
+        producerProperties.setTopic("orders");
+        producerProperties.setLoad(loadProperties);
+        ProducerHandle producerHandle = mock(ProducerHandle.class);
+        when(producerHandle.getProducerProperties()).thenReturn(producerProperties);
+        SendChannel sendChannel = SendChannels.of(producer, 1_000);
+        return new LoadRun(producerHandle, sendChannel, producerPayloadResolver);
+    }
+
+    private static LoadProperties load(double messagesPerSecond, Long totalMessages, Long durationMs, long rampUpMs) {
+        LoadProperties loadProperties = new LoadProperties();
+        loadProperties.setMessagesPerSecond(messagesPerSecond);
+        loadProperties.setTotalMessages(totalMessages);
+        loadProperties.setDurationMs(durationMs);
+        loadProperties.setRampUpMs(rampUpMs);
+        return loadProperties;
+    }
+
+    private static final class FixedPayloadResolver extends ProducerPayloadResolver {
+
+        private final int failEvery;
+
+        private int created;
+
+        /**
+         * @param failEvery every n-th record fails to be built, 0 to never fail
+         */
+        private FixedPayloadResolver(int failEvery) {
+            super(null, null, null, null);
+            this.failEvery = failEvery;
+        }
+
+        @Override
+        public ProducerRecord<Object, Object> createRecord(ProducerHandle producerHandle, SendChannel sendChannel, ConsumerRecord<?, ?> source) {
+            if (failEvery > 0 && ++created % failEvery == 0) {
+                throw new IllegalStateException("mapping failure");
+            }
+            return new ProducerRecord<>("orders", "k", "v");
+        }
+    }
+
+    private static final class NoOpSerializer implements Serializer<Object> {
+
+        @Override
+        public byte[] serialize(String topic, Object data) {
+            return new byte[0];
+        }
+    }
+}
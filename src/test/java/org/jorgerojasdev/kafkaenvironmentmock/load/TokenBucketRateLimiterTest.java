@@ -0,0 +1,79 @@
+package org.jorgerojasdev.kafkaenvironmentmock.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketRateLimiterTest {
+
+    @Test
+    void startsEmpty() throws Exception {
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(1D, 10L);
+
+        assertThat(rateLimiter.acquire(1, 0L)).isFalse();
+    }
+
+    @Test
+    void waitsForTheRefill() throws Exception {
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(1_000D, 10L);
+
+        long startNanos = System.nanoTime();
+        assertThat(rateLimiter.acquire(10, TimeUnit.SECONDS.toNanos(1L))).isTrue();
+
+        assertThat(System.nanoTime() - startNanos).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(9L));
+    }
+
+    @Test
+    void givesUpAfterTheMaxWait() throws Exception {
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(1D, 10L);
+
+        long startNanos = System.nanoTime();
+        assertThat(rateLimiter.acquire(5, TimeUnit.MILLISECONDS.toNanos(20L))).isFalse();
+
+        assertThat(System.nanoTime() - startNanos).isLessThan(TimeUnit.SECONDS.toNanos(1L));
+    }
+
+    @Test
+    void holdsAtMostOneBurst() throws Exception {
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(1_000D, 10L);
+        Thread.sleep(50L);
+
+        assertThat(rateLimiter.acquire(10, 0L)).isTrue();
+        assertThat(rateLimiter.acquire(10, 0L)).isFalse();
+    }
+
+    @Test
+    void limitsTheRate() throws Exception {
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(2_000D, 20L);
+
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            assertThat(rateLimiter.acquire(20, TimeUnit.SECONDS.toNanos(1L))).isTrue();
+        }
+
+        assertThat(System.nanoTime() - startNanos).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(190L));
+    }
+
+    @Test
+    void appliesRateChanges() throws Exception {
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(1D, 10L);
+        rateLimiter.setRate(100_000D);
+
+        assertThat(rateLimiter.acquire(10, TimeUnit.SECONDS.toNanos(1L))).isTrue();
+    }
+
+    @Test
+    void stopsWaitingWhenInterrupted() {
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(1D, 10L);
+        Thread.currentThread().interrupt();
+
+        try {
+            assertThatThrownBy(() -> rateLimiter.acquire(5, TimeUnit.SECONDS.toNanos(5L))).isInstanceOf(InterruptedException.class);
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
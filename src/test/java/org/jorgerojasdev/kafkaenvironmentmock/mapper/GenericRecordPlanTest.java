@@ -0,0 +1,44 @@
+package org.jorgerojasdev.kafkaenvironmentmock.mapper;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GenericRecordPlanTest {
+
+    private static final Schema SCHEMA = new Schema.Parser().parse("{\"type\": \"record\", \"name\": \"Order\", \"namespace\": \"kem.test\", \"fields\": ["
+            + "{\"name\": \"id\", \"type\": \"long\", \"default\": 0},"
+            + "{\"name\": \"tags\", \"type\": {\"type\": \"array\", \"items\": \"string\"}, \"default\": [\"new\"]},"
+            + "{\"name\": \"attributes\", \"type\": {\"type\": \"map\", \"values\": \"string\"}, \"default\": {}},"
+            + "{\"name\": \"customer\", \"type\": {\"type\": \"record\", \"name\": \"Customer\", \"fields\": ["
+            + "{\"name\": \"name\", \"type\": \"string\"}]}, \"default\": {\"name\": \"anonymous\"}}]}");
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void mutableDefaultsAreNotSharedBetweenRecords() {
+        GenericRecordPlan plan = plan(SCHEMA);
+
+        GenericData.Record first = plan.map(Collections.emptyMap());
+        ((List<Object>) first.get("tags")).add("changed");
+        ((Map<Object, Object>) first.get("attributes")).put("changed", "true");
+        ((GenericRecord) first.get("customer")).put("name", "changed");
+
+        GenericData.Record second = plan.map(Collections.emptyMap());
+        assertThat((List<Object>) second.get("tags")).hasSize(1);
+        assertThat((Map<Object, Object>) second.get("attributes")).isEmpty();
+        assertThat(second.get("customer").toString()).contains("anonymous");
+        assertThat(second.get("id")).isEqualTo(0L);
+        assertThat(second.get("tags")).isNotSameAs(first.get("tags"));
+    }
+
+    private static GenericRecordPlan plan(Schema schema) {
+        return GenericRecordPlan.compile(schema, GenericRecordPlanTest::plan);
+    }
+}
@@ -0,0 +1,60 @@
+package org.jorgerojasdev.kafkaenvironmentmock.partitioning;
+
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.KeyGeneratorType;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.KeyGeneratorProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeyGeneratorsTest {
+
+    @Test
+    void sequenceWithoutPrefix() {
+        KeyGenerator generator = KeyGenerators.compile(keyGenerator(KeyGeneratorType.SEQUENCE));
+
+        assertThat(generator.nextKey(null)).isEqualTo("0");
+        assertThat(generator.nextKey(null)).isEqualTo("1");
+    }
+
+    @Test
+    void poolKeysCarryThePrefix() {
+        KeyGeneratorProperties keyGenerator = keyGenerator(KeyGeneratorType.POOL);
+        keyGenerator.setPrefix("customer-");
+        keyGenerator.setPoolSize(2);
+        KeyGenerator generator = KeyGenerators.compile(keyGenerator);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(generator.nextKey(null)).isIn("customer-0", "customer-1");
+        }
+    }
+
+    @Test
+    void rejectsANullPrefix() {
+        for (KeyGeneratorType type : new KeyGeneratorType[]{KeyGeneratorType.SEQUENCE, KeyGeneratorType.POOL}) {
+            KeyGeneratorProperties keyGenerator = keyGenerator(type);
+            keyGenerator.setPrefix(null);
+
+            assertThatThrownBy(() -> keyGenerator.validate("producer"))
+                    .isInstanceOf(AutoconfigureKEMException.class)
+                    .hasMessageContaining("keyGenerator.prefix");
+        }
+    }
+
+    @Test
+    void rejectsASequenceWithoutStart() {
+        KeyGeneratorProperties keyGenerator = keyGenerator(KeyGeneratorType.SEQUENCE);
+        keyGenerator.setStart(null);
+
+        assertThatThrownBy(() -> keyGenerator.validate("producer"))
+                .isInstanceOf(AutoconfigureKEMException.class)
+                .hasMessageContaining("keyGenerator.start");
+    }
+
+    private static KeyGeneratorProperties keyGenerator(KeyGeneratorType type) {
+        KeyGeneratorProperties keyGenerator = new KeyGeneratorProperties();
+        keyGenerator.setType(type);
+        return keyGenerator;
+    }
+}
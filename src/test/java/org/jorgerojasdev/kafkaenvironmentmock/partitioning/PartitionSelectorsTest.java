@@ -0,0 +1,84 @@
+package org.jorgerojasdev.kafkaenvironmentmock.partitioning;
+
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.PartitioningStrategy;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.PartitioningProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PartitionSelectorsTest {
+
+    private static final IntSupplier UNREAD_PARTITION_COUNT = () -> {
+        throw new AssertionError("Partition count must not be read");
+    };
+
+    @Test
+    void defaultNeverReadsThePartitionCount() {
+        PartitionSelector selector = PartitionSelectors.compile(partitioning(PartitioningStrategy.DEFAULT));
+
+        assertThat(selector.nextPartition(UNREAD_PARTITION_COUNT)).isNull();
+        assertThat(PartitionSelectors.compile(null).nextPartition(UNREAD_PARTITION_COUNT)).isNull();
+    }
+
+    @Test
+    void roundRobinCyclesOverEveryPartition() {
+        PartitionSelector selector = PartitionSelectors.compile(partitioning(PartitioningStrategy.ROUND_ROBIN));
+
+        assertThat(Arrays.asList(selector.nextPartition(() -> 3), selector.nextPartition(() -> 3), selector.nextPartition(() -> 3), selector.nextPartition(() -> 3)))
+                .containsExactly(0, 1, 2, 0);
+    }
+
+    @Test
+    void stickyKeepsAPartitionForItsBatch() {
+        PartitioningProperties partitioning = partitioning(PartitioningStrategy.STICKY);
+        partitioning.setStickyBatchSize(2);
+        PartitionSelector selector = PartitionSelectors.compile(partitioning);
+
+        assertThat(Arrays.asList(selector.nextPartition(() -> 2), selector.nextPartition(() -> 2), selector.nextPartition(() -> 2)))
+                .containsExactly(0, 0, 1);
+    }
+
+    @Test
+    void explicitCyclesOverTheDeclaredPartitions() {
+        PartitioningProperties partitioning = partitioning(PartitioningStrategy.EXPLICIT);
+        partitioning.setPartitions(Arrays.asList(2, 2, 0));
+        PartitionSelector selector = PartitionSelectors.compile(partitioning);
+
+        assertThat(Arrays.asList(selector.nextPartition(() -> 3), selector.nextPartition(() -> 3), selector.nextPartition(() -> 3)))
+                .containsExactly(2, 2, 0);
+    }
+
+    @Test
+    void explicitRejectsPartitionsOutOfTheTopic() {
+        PartitioningProperties partitioning = partitioning(PartitioningStrategy.EXPLICIT);
+        partitioning.setPartitions(Arrays.asList(0, 4));
+        PartitionSelector selector = PartitionSelectors.compile(partitioning);
+
+        assertThatThrownBy(() -> selector.nextPartition(() -> 3))
+                .isInstanceOf(AutoconfigureKEMException.class)
+                .hasMessageContaining("Partition 4");
+    }
+
+    @Test
+    void failedPartitionCheckIsKept() {
+        PartitioningProperties partitioning = partitioning(PartitioningStrategy.EXPLICIT);
+        partitioning.setPartitions(Arrays.asList(4));
+        PartitionSelector selector = PartitionSelectors.compile(partitioning);
+
+        assertThatThrownBy(() -> selector.nextPartition(() -> 3)).isInstanceOf(AutoconfigureKEMException.class);
+        assertThatThrownBy(() -> selector.nextPartition(UNREAD_PARTITION_COUNT))
+                .isInstanceOf(AutoconfigureKEMException.class)
+                .hasMessageContaining("Partition 4");
+    }
+
+    private static PartitioningProperties partitioning(PartitioningStrategy strategy) {
+        PartitioningProperties partitioning = new PartitioningProperties();
+        partitioning.setStrategy(strategy);
+        return partitioning;
+    }
+}
@@ -0,0 +1,158 @@
+package org.jorgerojasdev.kafkaenvironmentmock.producer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.serialization.Serializer;
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.InFlightPolicy;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.DeliveryProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.SchedulerProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SendChannelTest {
+
+    private static final Node NODE = new Node(0, "localhost", 9092);
+
+    @Test
+    void countsAcknowledgedSends() throws Exception {
+        MockProducer<Object, Object> producer = new MockProducer<>(true, new NoOpSerializer(), new NoOpSerializer());
+        SendChannel sendChannel = sendChannel(producer, InFlightPolicy.BLOCK, 10);
+
+        assertThat(sendChannel.send(new ProducerRecord<>("orders", "k", "v"))).isTrue();
+
+        assertThat(sendChannel.getSendStats().getSent()).isEqualTo(1L);
+        assertThat(sendChannel.getSendStats().getAcknowledged()).isEqualTo(1L);
+        assertThat(sendChannel.getInFlight()).isZero();
+    }
+
+    @Test
+    void synchronousFailuresAreOnlyCountedAsFailed() {
+        MockProducer<Object, Object> producer = new MockProducer<>(true, new NoOpSerializer(), new NoOpSerializer());
+        producer.close();
+        SendChannel sendChannel = sendChannel(producer, InFlightPolicy.BLOCK, 10);
+
+        assertThatThrownBy(() -> sendChannel.send(new ProducerRecord<>("orders", "k", "v"))).isInstanceOf(IllegalStateException.class);
+
+        assertThat(sendChannel.getSendStats().getSent()).isZero();
+        assertThat(sendChannel.getSendStats().getFailed()).isEqualTo(1L);
+        assertThat(sendChannel.getInFlight()).isZero();
+    }
+
+    @Test
+    void dropsSendsOverTheInFlightCap() throws Exception {
+        MockProducer<Object, Object> producer = new MockProducer<>(false, new NoOpSerializer(), new NoOpSerializer());
+        SendChannel sendChannel = sendChannel(producer, InFlightPolicy.DROP, 1);
+
+        assertThat(sendChannel.send(new ProducerRecord<>("orders", "k", "v"))).isTrue();
+        assertThat(sendChannel.send(new ProducerRecord<>("orders", "k", "v"))).isFalse();
+        producer.completeNext();
+
+        assertThat(sendChannel.getSendStats().getDropped()).isEqualTo(1L);
+        assertThat(sendChannel.send(new ProducerRecord<>("orders", "k", "v"))).isTrue();
+    }
+
+    @Test
+    void retriesRunWhileSchedulerThreadsWaitForPermits() throws Exception {
+        MockProducer<Object, Object> producer = new MockProducer<>(false, new NoOpSerializer(), new NoOpSerializer());
+        SchedulerProperties schedulerProperties = new SchedulerProperties();
+        schedulerProperties.setPoolSize(1);
+        ProducerScheduler producerScheduler = new ProducerScheduler(schedulerProperties);
+        SendChannel sendChannel = sendChannel(producer, InFlightPolicy.BLOCK, 1, 1, producerScheduler);
+        try {
+            assertThat(sendChannel.send(new ProducerRecord<>("orders", "k", "first"))).isTrue();
+            // the only scheduler thread now waits for the permit held by the first send
+            producerScheduler.schedule(() -> {
+                try {
+                    sendChannel.send(new ProducerRecord<>("orders", "k", "second"));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, 0L);
+            Thread.sleep(50L);
+
+            producer.errorNext(new TimeoutException("retriable"));
+            awaitHistorySize(producer, 2);
+            producer.completeNext();
+            awaitHistorySize(producer, 3);
+            producer.completeNext();
+
+            assertThat(sendChannel.getSendStats().getRetried()).isEqualTo(1L);
+            assertThat(sendChannel.getSendStats().getAcknowledged()).isEqualTo(2L);
+            assertThat(sendChannel.getInFlight()).isZero();
+        } finally {
+            producerScheduler.shutdown();
+        }
+    }
+
+    @Test
+    void partitionCountIsCachedPerTopic() {
+        Cluster cluster = new Cluster("kem", List.of(NODE), partitions("orders", 3, "payments", 5), Collections.emptySet(), Collections.emptySet());
+        MockProducer<Object, Object> producer = new MockProducer<>(cluster, true, null, new NoOpSerializer(), new NoOpSerializer());
+        SendChannel sendChannel = sendChannel(producer, InFlightPolicy.BLOCK, 10);
+
+        assertThat(sendChannel.getPartitionCount("orders")).isEqualTo(3);
+        assertThat(sendChannel.getPartitionCount("payments")).isEqualTo(5);
+        assertThat(sendChannel.getPartitionCount("orders")).isEqualTo(3);
+    }
+
+    @Test
+    void rejectsTopicsWithoutPartitions() {
+        MockProducer<Object, Object> producer = new MockProducer<>(true, new NoOpSerializer(), new NoOpSerializer());
+        SendChannel sendChannel = sendChannel(producer, InFlightPolicy.BLOCK, 10);
+
+        assertThatThrownBy(() -> sendChannel.getPartitionCount("orders")).isInstanceOf(AutoconfigureKEMException.class);
+    }
+
+    private static SendChannel sendChannel(MockProducer<Object, Object> producer, InFlightPolicy inFlightPolicy, int maxInFlight) {
+        return sendChannel(producer, inFlightPolicy, maxInFlight, 0, null);
+    }
+
+    private static SendChannel sendChannel(MockProducer<Object, Object> producer, InFlightPolicy inFlightPolicy, int maxInFlight, int sendRetries, ProducerScheduler producerScheduler) {
+        DeliveryProperties delivery = new DeliveryProperties();
+        delivery.setMaxInFlight(maxInFlight);
+        delivery.setInFlightPolicy(inFlightPolicy);
+        delivery.setSendRetries(sendRetries);
+        delivery.setRetryBackoffMs(0L);
+        return new SendChannel("producer", producer, delivery, producerScheduler, new SimpleMeterRegistry().timer("send"));
+    }
+
+    private static void awaitHistorySize(MockProducer<Object, Object> producer, int size) throws InterruptedException {
+        long deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(5L);
+        while (producer.history().size() < size) {
+            assertThat(System.nanoTime() - deadlineNanos).as("records sent before the deadline").isNegative();
+            Thread.sleep(5L);
+        }
+    }
+
+    private static List<PartitionInfo> partitions(String topic, int count, String otherTopic, int otherCount) {
+        List<PartitionInfo> partitions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            partitions.add(new PartitionInfo(topic, i, NODE, new Node[0], new Node[0]));
+        }
+        for (int i = 0; i < otherCount; i++) {
+            partitions.add(new PartitionInfo(otherTopic, i, NODE, new Node[0], new Node[0]));
+        }
+        return partitions;
+    }
+
+    private static final class NoOpSerializer implements Serializer<Object> {
+
+        @Override
+        public byte[] serialize(String topic, Object data) {
+            return new byte[0];
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.jorgerojasdev.kafkaenvironmentmock.producer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.Producer;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.InFlightPolicy;
+import org.jorgerojasdev.kafkaenvironmentmock.props.kem.DeliveryProperties;
+
+/**
+ * Builds send channels over a given producer for tests outside of this package.
+ */
+public final class SendChannels {
+
+    private SendChannels() {
+    }
+
+    public static SendChannel of(Producer<Object, Object> producer, int maxInFlight) {
+        DeliveryProperties delivery = new DeliveryProperties();
+        delivery.setMaxInFlight(maxInFlight);
+        delivery.setInFlightPolicy(InFlightPolicy.BLOCK);
+        delivery.setSendRetries(0);
+        delivery.setRetryBackoffMs(0L);
+        return new SendChannel("producer", producer, delivery, null, new SimpleMeterRegistry().timer("send"));
+    }
+}
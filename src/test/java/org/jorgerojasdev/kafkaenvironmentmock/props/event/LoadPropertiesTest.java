@@ -0,0 +1,46 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.event;
+
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoadPropertiesTest {
+
+    @Test
+    void acceptsAnOpenEndedRun() {
+        assertThatCode(() -> load().validate("load")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void rejectsNonPositiveLimits() {
+        LoadProperties duration = load();
+        duration.setDurationMs(0L);
+        LoadProperties total = load();
+        total.setTotalMessages(-1L);
+
+        assertThatThrownBy(() -> duration.validate("load")).isInstanceOf(AutoconfigureKEMException.class).hasMessageContaining("load.durationMs");
+        assertThatThrownBy(() -> total.validate("load")).isInstanceOf(AutoconfigureKEMException.class).hasMessageContaining("load.totalMessages");
+    }
+
+    @Test
+    void rejectsMissingOrNegativeIntervals() {
+        LoadProperties rampUp = load();
+        rampUp.setRampUpMs(null);
+        LoadProperties negativeRampUp = load();
+        negativeRampUp.setRampUpMs(-1L);
+        LoadProperties reportInterval = load();
+        reportInterval.setReportIntervalMs(0L);
+
+        assertThatThrownBy(() -> rampUp.validate("load")).isInstanceOf(AutoconfigureKEMException.class).hasMessageContaining("load.rampUpMs");
+        assertThatThrownBy(() -> negativeRampUp.validate("load")).isInstanceOf(AutoconfigureKEMException.class).hasMessageContaining("load.rampUpMs");
+        assertThatThrownBy(() -> reportInterval.validate("load")).isInstanceOf(AutoconfigureKEMException.class).hasMessageContaining("load.reportIntervalMs");
+    }
+
+    private static LoadProperties load() {
+        LoadProperties loadProperties = new LoadProperties();
+        loadProperties.setMessagesPerSecond(100D);
+        return loadProperties;
+    }
+}
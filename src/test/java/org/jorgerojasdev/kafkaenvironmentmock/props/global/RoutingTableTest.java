@@ -0,0 +1,54 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.global;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.FilterSource;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.ConsumerProperties;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.FilterProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoutingTableTest {
+
+    @Test
+    void unfilteredTopicsReturnTheCompiledRoutes() {
+        ConsumerRoute[] routes = {route("first", null), route("second", null)};
+        RoutingTable routingTable = new RoutingTable(Map.of("orders", routes));
+
+        assertThat(routingTable.getMatchingRoutes(new ConsumerRecord<>("orders", 0, 0L, "k", "v"))).isSameAs(routes);
+    }
+
+    @Test
+    void filteredTopicsReturnTheMatchingRoutes() {
+        ConsumerRoute unfiltered = route("unfiltered", null);
+        ConsumerRoute filtered = route("filtered", "order-1");
+        ConsumerRoute[] routes = {unfiltered, filtered};
+        RoutingTable routingTable = new RoutingTable(Map.of("orders", routes));
+
+        assertThat(routingTable.getMatchingRoutes(new ConsumerRecord<>("orders", 0, 0L, "order-1", "v"))).isSameAs(routes);
+        assertThat(routingTable.getMatchingRoutes(new ConsumerRecord<>("orders", 0, 0L, "order-2", "v"))).containsExactly(unfiltered);
+    }
+
+    @Test
+    void unknownTopicsHaveNoRoutes() {
+        RoutingTable routingTable = new RoutingTable(Map.of());
+
+        assertThat(routingTable.getMatchingRoutes(new ConsumerRecord<>("orders", 0, 0L, "k", "v"))).isEmpty();
+    }
+
+    private static ConsumerRoute route(String operationId, String key) {
+        ConsumerProperties consumerProperties = new ConsumerProperties();
+        consumerProperties.setOperationId(operationId);
+        consumerProperties.setTopic("orders");
+        if (key != null) {
+            FilterProperties filter = new FilterProperties();
+            filter.setSource(FilterSource.KEY);
+            filter.setValue(key);
+            consumerProperties.setFilters(Collections.singletonList(filter));
+        }
+        return new ConsumerRoute(consumerProperties, new ProducerHandle[0]);
+    }
+}
@@ -0,0 +1,123 @@
+package org.jorgerojasdev.kafkaenvironmentmock.props.kem;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.TuningPreset;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProducerTuningPropertiesTest {
+
+    @Test
+    void producerPresetOverridesGlobalFields() {
+        ProducerTuningProperties producer = new ProducerTuningProperties();
+        producer.setPreset(TuningPreset.LATENCY);
+
+        Map<String, Object> config = globalTuning().overrideWith(producer).toProducerConfig();
+
+        assertThat(config)
+                .containsEntry(ProducerConfig.LINGER_MS_CONFIG, 0L)
+                .containsEntry(ProducerConfig.COMPRESSION_TYPE_CONFIG, "none")
+                .containsEntry(ProducerConfig.BATCH_SIZE_CONFIG, 16384)
+                .containsEntry(ProducerConfig.ACKS_CONFIG, "1")
+                .containsEntry(ProducerConfig.BUFFER_MEMORY_CONFIG, 1024L);
+    }
+
+    @Test
+    void producerFieldsOverrideProducerPreset() {
+        ProducerTuningProperties producer = new ProducerTuningProperties();
+        producer.setPreset(TuningPreset.THROUGHPUT);
+        producer.setCompressionType("zstd");
+
+        Map<String, Object> config = globalTuning().overrideWith(producer).toProducerConfig();
+
+        assertThat(config)
+                .containsEntry(ProducerConfig.LINGER_MS_CONFIG, 20L)
+                .containsEntry(ProducerConfig.BATCH_SIZE_CONFIG, 262144)
+                .containsEntry(ProducerConfig.COMPRESSION_TYPE_CONFIG, "zstd");
+    }
+
+    @Test
+    void globalFieldsOverrideGlobalPreset() {
+        ProducerTuningProperties global = globalTuning();
+        global.setPreset(TuningPreset.THROUGHPUT);
+
+        Map<String, Object> config = global.overrideWith(new ProducerTuningProperties()).toProducerConfig();
+
+        assertThat(config)
+                .containsEntry(ProducerConfig.LINGER_MS_CONFIG, 5L)
+                .containsEntry(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4")
+                .containsEntry(ProducerConfig.BATCH_SIZE_CONFIG, 262144);
+    }
+
+    @Test
+    void producerPresetIsLayeredOverGlobalPreset() {
+        ProducerTuningProperties global = new ProducerTuningProperties();
+        global.setPreset(TuningPreset.THROUGHPUT);
+        ProducerTuningProperties producer = new ProducerTuningProperties();
+        producer.setPreset(TuningPreset.LATENCY);
+
+        Map<String, Object> config = global.overrideWith(producer).toProducerConfig();
+
+        // LATENCY leaves acks and idempotence unset, so those of THROUGHPUT remain
+        assertThat(config)
+                .containsEntry(ProducerConfig.LINGER_MS_CONFIG, 0L)
+                .containsEntry(ProducerConfig.BATCH_SIZE_CONFIG, 16384)
+                .containsEntry(ProducerConfig.COMPRESSION_TYPE_CONFIG, "none")
+                .containsEntry(ProducerConfig.ACKS_CONFIG, "1")
+                .containsEntry(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, false);
+    }
+
+    @Test
+    void everyLayerOverridesThePreviousOne() {
+        ProducerTuningProperties global = new ProducerTuningProperties();
+        global.setPreset(TuningPreset.LATENCY);
+        global.setAcks("all");
+        global.setLingerMs(5L);
+        global.setBufferMemory(1024L);
+        global.setMaxInFlightRequestsPerConnection(1);
+        ProducerTuningProperties producer = new ProducerTuningProperties();
+        producer.setPreset(TuningPreset.THROUGHPUT);
+        producer.setBatchSize(1000);
+        producer.setMaxInFlightRequestsPerConnection(5);
+
+        Map<String, Object> config = global.overrideWith(producer).toProducerConfig();
+
+        assertThat(config)
+                .containsEntry(ProducerConfig.ACKS_CONFIG, "1")
+                .containsEntry(ProducerConfig.LINGER_MS_CONFIG, 20L)
+                .containsEntry(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4")
+                .containsEntry(ProducerConfig.BATCH_SIZE_CONFIG, 1000)
+                .containsEntry(ProducerConfig.BUFFER_MEMORY_CONFIG, 1024L)
+                .containsEntry(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+    }
+
+    @Test
+    void globalPresetAppliesWithoutProducerTuning() {
+        ProducerTuningProperties global = new ProducerTuningProperties();
+        global.setPreset(TuningPreset.THROUGHPUT);
+
+        Map<String, Object> config = global.overrideWith(new ProducerTuningProperties()).toProducerConfig();
+
+        assertThat(config).containsAllEntriesOf(TuningPreset.THROUGHPUT.getProducerConfig());
+    }
+
+    @Test
+    void presetConfigIsUnmodifiable() {
+        assertThatThrownBy(() -> TuningPreset.THROUGHPUT.getProducerConfig().put(ProducerConfig.ACKS_CONFIG, "all"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private static ProducerTuningProperties globalTuning() {
+        ProducerTuningProperties global = new ProducerTuningProperties();
+        global.setAcks("1");
+        global.setLingerMs(5L);
+        global.setCompressionType("lz4");
+        global.setEnableIdempotence(false);
+        global.setBufferMemory(1024L);
+        return global;
+    }
+}
@@ -0,0 +1,153 @@
+package org.jorgerojasdev.kafkaenvironmentmock.recording;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SegmentWriterReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackEveryRecordAcrossSegments() throws Exception {
+        try (SegmentWriter writer = new SegmentWriter(directory, 256)) {
+            for (int i = 0; i < 20; i++) {
+                assertThat(writer.append(record("orders", i % 3, 1000L + i, "key-" + i, "value-" + i))).isTrue();
+            }
+        }
+        assertThat(SegmentFormat.listSegments(directory)).hasSizeGreaterThan(1);
+
+        SegmentReader reader = new SegmentReader(directory);
+        for (int i = 0; i < 20; i++) {
+            assertThat(reader.next()).isTrue();
+            assertThat(reader.getTopic()).isEqualTo("orders");
+            assertThat(reader.getPartition()).isEqualTo(i % 3);
+            assertThat(reader.getTimestamp()).isEqualTo(1000L + i);
+            assertThat(string(reader.getKey())).isEqualTo("key-" + i);
+            assertThat(string(reader.getValue())).isEqualTo("value-" + i);
+        }
+        assertThat(reader.next()).isFalse();
+    }
+
+    @Test
+    void keepsNullKeysValuesAndHeaders() throws Exception {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add("trace", "abc".getBytes(StandardCharsets.UTF_8));
+        headers.add("empty", null);
+        ConsumerRecord<byte[], byte[]> record = new ConsumerRecord<>("payments", 1, 7L, 42L, TimestampType.CREATE_TIME,
+                0, 0, null, null, headers, Optional.empty());
+        try (SegmentWriter writer = new SegmentWriter(directory, 1024)) {
+            writer.append(record);
+            writer.append(record("payments", 0, 43L, "k", "v"));
+        }
+
+        SegmentReader reader = new SegmentReader(directory);
+        assertThat(reader.next()).isTrue();
+        assertThat(reader.getKey()).isNull();
+        assertThat(reader.getValue()).isNull();
+        assertThat(reader.getHeaders().lastHeader("trace").value()).isEqualTo("abc".getBytes(StandardCharsets.UTF_8));
+        assertThat(reader.getHeaders().lastHeader("empty").value()).isNull();
+        assertThat(reader.next()).isTrue();
+        assertThat(reader.getHeaders()).isNull();
+        assertThat(reader.next()).isFalse();
+    }
+
+    @Test
+    void skipsRecordsLargerThanASegment() throws Exception {
+        try (SegmentWriter writer = new SegmentWriter(directory, 128)) {
+            assertThat(writer.append(record("orders", 0, 1L, "k", "x".repeat(200)))).isFalse();
+            assertThat(writer.append(record("orders", 0, 2L, "k", "v"))).isTrue();
+            assertThat(writer.getSkipped()).isEqualTo(1L);
+            assertThat(writer.getRecords()).isEqualTo(1L);
+        }
+
+        SegmentReader reader = new SegmentReader(directory);
+        assertThat(reader.next()).isTrue();
+        assertThat(reader.getTimestamp()).isEqualTo(2L);
+        assertThat(reader.next()).isFalse();
+    }
+
+    @Test
+    void skipsRecordsWithAHeaderKeyLongerThanAShort() throws Exception {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add("k".repeat(Short.MAX_VALUE + 1), null);
+        ConsumerRecord<byte[], byte[]> record = new ConsumerRecord<>("orders", 0, 0L, 1L, TimestampType.CREATE_TIME,
+                0, 0, null, null, headers, Optional.empty());
+        try (SegmentWriter writer = new SegmentWriter(directory, 1 << 20)) {
+            assertThat(writer.append(record)).isFalse();
+            assertThat(writer.append(record("orders", 0, 2L, "k", "v"))).isTrue();
+            assertThat(writer.getSkipped()).isEqualTo(1L);
+        }
+
+        SegmentReader reader = new SegmentReader(directory);
+        assertThat(reader.next()).isTrue();
+        assertThat(reader.getTimestamp()).isEqualTo(2L);
+        assertThat(reader.next()).isFalse();
+    }
+
+    @Test
+    void keepsSegmentsAtTheirMappedSizeForLiveReaders() throws Exception {
+        SegmentReader reader;
+        try (SegmentWriter writer = new SegmentWriter(directory, 1024)) {
+            writer.append(record("orders", 0, 1L, "k1", "v1"));
+            reader = new SegmentReader(directory);
+        }
+
+        assertThat(SegmentFormat.listSegments(directory)).allSatisfy(segment -> assertThat(Files.size(segment)).isEqualTo(1024L));
+        assertThat(reader.next()).isTrue();
+        assertThat(reader.getTimestamp()).isEqualTo(1L);
+        assertThat(reader.next()).isFalse();
+    }
+
+    @Test
+    void readsTheRecordsOfASegmentStillBeingWritten() throws Exception {
+        try (SegmentWriter writer = new SegmentWriter(directory, 1024)) {
+            writer.append(record("orders", 0, 1L, "k1", "v1"));
+            writer.append(record("orders", 0, 2L, "k2", "v2"));
+
+            SegmentReader reader = new SegmentReader(directory);
+            assertThat(reader.next()).isTrue();
+            assertThat(reader.next()).isTrue();
+            assertThat(string(reader.getValue())).isEqualTo("v2");
+            assertThat(reader.next()).isFalse();
+        }
+    }
+
+    @Test
+    void continuesTheSequenceOfAnExistingRecording() throws Exception {
+        try (SegmentWriter writer = new SegmentWriter(directory, 1024)) {
+            writer.append(record("orders", 0, 1L, "k1", "v1"));
+        }
+        try (SegmentWriter writer = new SegmentWriter(directory, 1024)) {
+            writer.append(record("orders", 0, 2L, "k2", "v2"));
+        }
+
+        assertThat(SegmentFormat.listSegments(directory)).hasSize(2);
+        SegmentReader reader = new SegmentReader(directory);
+        assertThat(reader.next()).isTrue();
+        assertThat(reader.getTimestamp()).isEqualTo(1L);
+        assertThat(reader.next()).isTrue();
+        assertThat(reader.getTimestamp()).isEqualTo(2L);
+        assertThat(reader.next()).isFalse();
+    }
+
+    private static ConsumerRecord<byte[], byte[]> record(String topic, int partition, long timestamp, String key, String value) {
+        return new ConsumerRecord<>(topic, partition, 0L, timestamp, TimestampType.CREATE_TIME, 0, 0,
+                key.getBytes(StandardCharsets.UTF_8), value.getBytes(StandardCharsets.UTF_8), new RecordHeaders(), Optional.empty());
+    }
+
+    private static String string(ByteBuffer buffer) {
+        return StandardCharsets.UTF_8.decode(buffer.duplicate()).toString();
+    }
+}
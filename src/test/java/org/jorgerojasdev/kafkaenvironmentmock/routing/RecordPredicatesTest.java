@@ -0,0 +1,109 @@
+package org.jorgerojasdev.kafkaenvironmentmock.routing;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.FilterOperator;
+import org.jorgerojasdev.kafkaenvironmentmock.props.common.FilterSource;
+import org.jorgerojasdev.kafkaenvironmentmock.props.event.FilterProperties;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecordPredicatesTest {
+
+    @Test
+    void noFiltersAlwaysMatch() {
+        assertThat(RecordPredicates.compile(Collections.emptyList())).isSameAs(RecordPredicate.ALWAYS);
+        assertThat(RecordPredicates.compile(null)).isSameAs(RecordPredicate.ALWAYS);
+    }
+
+    @Test
+    void keyEquals() {
+        RecordPredicate predicate = compile(filter(FilterSource.KEY, FilterOperator.EQUALS, "order-1"));
+
+        assertThat(predicate.test(record("order-1", Map.of(), null))).isTrue();
+        assertThat(predicate.test(record("order-2", Map.of(), null))).isFalse();
+        assertThat(predicate.test(record(null, Map.of(), null))).isFalse();
+    }
+
+    @Test
+    void headerComparesRawBytes() {
+        FilterProperties filter = filter(FilterSource.HEADER, FilterOperator.EQUALS, "eu");
+        filter.setName("region");
+        RecordPredicate predicate = compile(filter);
+
+        assertThat(predicate.test(record("k", Map.of(), "eu"))).isTrue();
+        assertThat(predicate.test(record("k", Map.of(), "us"))).isFalse();
+        assertThat(predicate.test(record("k", Map.of(), null))).isFalse();
+    }
+
+    @Test
+    void fieldPathsWalkNestedValues() {
+        FilterProperties filter = filter(FilterSource.FIELD, FilterOperator.EQUALS, "10");
+        filter.setPath("order.quantity");
+        RecordPredicate predicate = compile(filter);
+
+        assertThat(predicate.test(record("k", Map.of("order", Map.of("quantity", 10)), null))).isTrue();
+        assertThat(predicate.test(record("k", Map.of("order", Map.of("quantity", 11)), null))).isFalse();
+        assertThat(predicate.test(record("k", Map.of(), null))).isFalse();
+    }
+
+    @Test
+    void rangeInAndMatches() {
+        FilterProperties range = filter(FilterSource.FIELD, FilterOperator.RANGE, null);
+        range.setPath("amount");
+        range.setMin(5D);
+        range.setMax(10D);
+        FilterProperties in = filter(FilterSource.FIELD, FilterOperator.IN, null);
+        in.setPath("status");
+        in.setValues(Arrays.asList("NEW", "PAID"));
+        FilterProperties matches = filter(FilterSource.KEY, FilterOperator.MATCHES, "order-\\d+");
+
+        RecordPredicate predicate = compile(range, in, matches);
+
+        assertThat(predicate.test(record("order-7", Map.of("amount", 7.5, "status", "PAID"), null))).isTrue();
+        assertThat(predicate.test(record("order-7", Map.of("amount", 11, "status", "PAID"), null))).isFalse();
+        assertThat(predicate.test(record("order-7", Map.of("amount", 7, "status", "SHIPPED"), null))).isFalse();
+        assertThat(predicate.test(record("order-x", Map.of("amount", 7, "status", "NEW"), null))).isFalse();
+    }
+
+    @Test
+    void notEqualsAndExists() {
+        FilterProperties notEquals = filter(FilterSource.KEY, FilterOperator.NOT_EQUALS, "ignored");
+        FilterProperties exists = filter(FilterSource.FIELD, FilterOperator.EXISTS, null);
+        exists.setPath("id");
+
+        RecordPredicate predicate = compile(notEquals, exists);
+
+        assertThat(predicate.test(record("k", Map.of("id", 1), null))).isTrue();
+        assertThat(predicate.test(record("ignored", Map.of("id", 1), null))).isFalse();
+        assertThat(predicate.test(record("k", Map.of(), null))).isFalse();
+    }
+
+    private static RecordPredicate compile(FilterProperties... filters) {
+        return RecordPredicates.compile(Arrays.asList(filters));
+    }
+
+    private static FilterProperties filter(FilterSource source, FilterOperator operator, String value) {
+        FilterProperties filter = new FilterProperties();
+        filter.setSource(source);
+        filter.setOperator(operator);
+        filter.setValue(value);
+        return filter;
+    }
+
+    private static ConsumerRecord<Object, Object> record(String key, Map<String, Object> value, String region) {
+        RecordHeaders headers = new RecordHeaders();
+        if (region != null) {
+            headers.add("region", region.getBytes(StandardCharsets.UTF_8));
+        }
+        return new ConsumerRecord<>("orders", 0, 0L, 0L, TimestampType.CREATE_TIME, 0, 0, key, value, headers, Optional.empty());
+    }
+}
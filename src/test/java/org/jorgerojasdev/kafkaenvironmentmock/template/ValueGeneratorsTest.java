@@ -0,0 +1,34 @@
+package org.jorgerojasdev.kafkaenvironmentmock.template;
+
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ValueGeneratorsTest {
+
+    @Test
+    void generatesNumbersInTheRange() {
+        ValueTemplate generator = ValueGenerators.compile("int(1, 3)", "producer");
+
+        for (int i = 0; i < 100; i++) {
+            assertThat((Integer) generator.resolve(null)).isBetween(1, 2);
+        }
+    }
+
+    @Test
+    void rejectsEmptyRangesAtCompileTime() {
+        for (String expression : new String[]{"int(5, 5)", "long(10, 1)", "double(2.5, 2.5)", "double(0, Infinity)"}) {
+            assertThatThrownBy(() -> ValueGenerators.compile(expression, "producer"))
+                    .isInstanceOf(AutoconfigureKEMException.class)
+                    .hasMessageContaining(expression);
+        }
+    }
+
+    @Test
+    void rejectsUnknownGenerators() {
+        assertThatThrownBy(() -> ValueGenerators.compile("random(1, 2)", "producer"))
+                .isInstanceOf(AutoconfigureKEMException.class);
+    }
+}
@@ -0,0 +1,53 @@
+package org.jorgerojasdev.kafkaenvironmentmock.template;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.jorgerojasdev.kafkaenvironmentmock.exception.AutoconfigureKEMException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ValueTemplatesTest {
+
+    private static final ConsumerRecord<Object, Object> SOURCE = new ConsumerRecord<>("orders", 2, 42L, "order-1", "value");
+
+    @Test
+    void valuesWithoutPlaceholdersStayStatic() {
+        assertThat(ValueTemplates.compile("order", "producer")).isNull();
+        assertThat(ValueTemplates.compile("}} {", "producer")).isNull();
+        assertThat(ValueTemplates.compile(Map.of("id", "1", "lines", List.of("a", 2)), "producer")).isNull();
+        assertThat(ValueTemplates.compile(10, "producer")).isNull();
+    }
+
+    @Test
+    void singlePlaceholderKeepsTheResolvedType() {
+        assertThat(ValueTemplates.compile("{{ offset }}", "producer").resolve(SOURCE)).isEqualTo(42L);
+    }
+
+    @Test
+    void placeholdersInsideAStringAreConcatenated() {
+        ValueTemplate template = ValueTemplates.compile("{{key}}-{{partition}}!", "producer");
+
+        assertThat(template.resolve(SOURCE)).isEqualTo("order-1-2!");
+    }
+
+    @Test
+    void nestedPlaceholdersMakeTheirContainersDynamic() {
+        ValueTemplate template = ValueTemplates.compile(Map.of("id", "{{key}}", "lines", List.of("a")), "producer");
+
+        assertThat(template.resolve(SOURCE)).isEqualTo(Map.of("id", "order-1", "lines", List.of("a")));
+    }
+
+    @Test
+    void rejectsUnclosedPlaceholders() {
+        assertThatThrownBy(() -> ValueTemplates.compile("order-{{key", "orders-producer"))
+                .isInstanceOf(AutoconfigureKEMException.class)
+                .hasMessageContaining("order-{{key")
+                .hasMessageContaining("orders-producer");
+        assertThatThrownBy(() -> ValueTemplates.compile(Map.of("id", "{{key}}-{{offset"), "producer"))
+                .isInstanceOf(AutoconfigureKEMException.class);
+    }
+}